@@ -2,8 +2,10 @@ package cqrs;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// The JPA transaction manager stays the only TransactionManager bean; see R2dbcConfiguration.
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 public class LearningEventSourcingApplication {
 
     public static void main(String[] args) {
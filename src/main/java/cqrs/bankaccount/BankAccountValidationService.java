@@ -2,6 +2,7 @@ package cqrs.bankaccount;
 
 import cqrs.bankaccount.model.BankAccountValidation;
 import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.user.query.UserQueryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,14 +14,15 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BankAccountValidationService implements BankAccountValidation {
     private final BankAccountQueryService queryService;
+    private final UserQueryService userQueryService;
 
     @Override
-    public boolean exists(String accountNumber) {
-        return queryService.existsAccountNumber(accountNumber);
+    public boolean exists(UUID aggregateId) {
+        return queryService.existsAggregateId(aggregateId);
     }
 
     @Override
-    public boolean exists(UUID aggregateId) {
-        return queryService.existsAggregateId(aggregateId);
+    public boolean existsUser(UUID userId) {
+        return userQueryService.existsUser(userId);
     }
 }
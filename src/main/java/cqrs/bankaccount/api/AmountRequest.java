@@ -0,0 +1,6 @@
+package cqrs.bankaccount.api;
+
+import java.math.BigDecimal;
+
+public record AmountRequest(BigDecimal amount) {
+}
@@ -0,0 +1,7 @@
+package cqrs.bankaccount.api;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BalanceAsOfResponse(String accountNumber, LocalDateTime asOf, BigDecimal balance) {
+}
@@ -0,0 +1,38 @@
+package cqrs.bankaccount.api;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import cqrs.bankaccount.query.analytics.AccountBalance;
+import cqrs.bankaccount.query.analytics.BankAccountAnalytics;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/analytics/accounts")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.analytics.in-memory", name = "enabled", havingValue = "true")
+public class BankAccountAnalyticsController {
+    private final BankAccountAnalytics analytics;
+
+    @GetMapping("/balance-by-holder")
+    public Map<String, BigDecimal> balanceByHolder() {
+        return analytics.sumOfBalancesByHolder();
+    }
+
+    @GetMapping("/over")
+    public List<AccountBalance> over(@RequestParam BigDecimal threshold) {
+        return analytics.accountsOver(threshold);
+    }
+
+    @GetMapping("/top")
+    public List<AccountBalance> top(@RequestParam(defaultValue = "10") int n) {
+        return analytics.topByBalance(n);
+    }
+}
@@ -0,0 +1,135 @@
+package cqrs.bankaccount.api;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.command.BankAccountTransferCommand;
+import cqrs.bankaccount.command.BankAccountWithdrawCommand;
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.bankaccount.query.BankAccountTransactionQueryService;
+import cqrs.bankaccount.query.BankAccountView;
+import cqrs.bankaccount.query.BankAccountViewCache;
+import cqrs.bankaccount.query.StatementCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+public class BankAccountController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final BankAccountCommandService commandService;
+    private final BankAccountQueryService queryService;
+    private final BankAccountTransactionQueryService transactionQueryService;
+    private final BankAccountViewCache viewCache;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public BankAccountResponse create(@RequestBody BankAccountCreatedCommand command,
+                                      @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        BankAccountCreatedCommand keyed = new BankAccountCreatedCommand(command.accountNumber(), command.accountHolder(), command.userId(), idempotencyKey);
+        return BankAccountResponse.from(commandService.createAccount(keyed));
+    }
+
+    @PostMapping("/{accountNumber}/deposits")
+    public BankAccountResponse deposit(@PathVariable String accountNumber, @RequestBody AmountRequest request,
+                                       @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return BankAccountResponse.from(commandService.deposit(new BankAccountDepositCommand(accountNumber, request.amount(), idempotencyKey)));
+    }
+
+    @PostMapping("/{accountNumber}/withdrawals")
+    public BankAccountResponse withdraw(@PathVariable String accountNumber, @RequestBody AmountRequest request,
+                                        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return BankAccountResponse.from(commandService.withdraw(new BankAccountWithdrawCommand(accountNumber, request.amount(), idempotencyKey)));
+    }
+
+    @PostMapping("/transfers")
+    public BankAccountResponse transfer(@RequestBody BankAccountTransferCommand command,
+                                        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        BankAccountTransferCommand keyed = new BankAccountTransferCommand(command.fromAccountNumber(), command.toAccountNumber(), command.amount(), idempotencyKey);
+        return BankAccountResponse.from(commandService.transfer(keyed));
+    }
+
+    /**
+     * Executes the commands in order, each in its own transaction, and reports every outcome
+     * instead of failing the whole batch on the first rejected command.
+     */
+    @PostMapping("/batch")
+    public List<BulkCommandResult> batch(@RequestBody List<BulkCommandRequest> commands) {
+        List<BulkCommandResult> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            BulkCommandRequest command = commands.get(i);
+            try {
+                results.add(BulkCommandResult.success(i, BankAccountResponse.from(execute(command))));
+            } catch (RuntimeException e) {
+                log.debug("Bulk command {} failed", i, e);
+                results.add(BulkCommandResult.failure(i, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The ETag is the account's aggregate version. A matching {@code If-None-Match} gets a 304, and when the view is
+     * cached that happens without touching the database.
+     */
+    @GetMapping("/{accountNumber}")
+    public ResponseEntity<BankAccountViewResponse> get(@PathVariable String accountNumber, WebRequest request) {
+        BankAccountView view = viewCache.get(accountNumber);
+        String etag = "\"" + view.getVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(BankAccountViewResponse.from(view));
+    }
+
+    @GetMapping("/{accountNumber}/balance")
+    public BalanceAsOfResponse balanceAsOf(@PathVariable String accountNumber,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return new BalanceAsOfResponse(accountNumber, asOf, queryService.balanceAsOf(accountNumber, asOf));
+    }
+
+    @GetMapping("/{accountNumber}/transactions")
+    public StatementResponse transactions(@PathVariable String accountNumber,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "50") int size) {
+        StatementCursor cursor = after != null ? StatementCursor.parse(after) : null;
+        return StatementResponse.from(accountNumber, transactionQueryService.getStatement(accountNumber, from, to, cursor, size));
+    }
+
+    private BankAccount execute(BulkCommandRequest command) {
+        return switch (command) {
+            case BulkCommandRequest.Create c ->
+                    commandService.createAccount(new BankAccountCreatedCommand(c.accountNumber(), c.accountHolder(), c.userId(), c.idempotencyKey()));
+            case BulkCommandRequest.Deposit d ->
+                    commandService.deposit(new BankAccountDepositCommand(d.accountNumber(), d.amount(), d.idempotencyKey()));
+            case BulkCommandRequest.Withdraw w ->
+                    commandService.withdraw(new BankAccountWithdrawCommand(w.accountNumber(), w.amount(), w.idempotencyKey()));
+            case BulkCommandRequest.Transfer t ->
+                    commandService.transfer(new BankAccountTransferCommand(t.fromAccountNumber(), t.toAccountNumber(), t.amount(), t.idempotencyKey()));
+        };
+    }
+}
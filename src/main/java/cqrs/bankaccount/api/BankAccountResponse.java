@@ -0,0 +1,19 @@
+package cqrs.bankaccount.api;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import cqrs.bankaccount.model.BankAccount;
+
+public record BankAccountResponse(UUID aggregateId, String accountNumber, String accountHolder, BigDecimal balance, int version) {
+
+    public static BankAccountResponse from(BankAccount account) {
+        return new BankAccountResponse(
+                account.getAggregateId(),
+                account.getAccountNumber(),
+                account.getAccountHolder(),
+                account.getBalance(),
+                account.getCurrentVersion()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package cqrs.bankaccount.api;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import cqrs.bankaccount.query.BankAccountTransaction;
+
+public record BankAccountTransactionResponse(int version, String type, BigDecimal amount, BigDecimal balanceAfter,
+                                             String counterpartyAccountNumber, LocalDateTime occurredAt) {
+
+    public static BankAccountTransactionResponse from(BankAccountTransaction transaction) {
+        return new BankAccountTransactionResponse(transaction.getVersion(), transaction.getType().name(), transaction.getAmount(),
+                transaction.getBalanceAfter(), transaction.getCounterpartyAccountNumber(), transaction.getOccurredAt());
+    }
+}
@@ -0,0 +1,13 @@
+package cqrs.bankaccount.api;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import cqrs.bankaccount.query.BankAccountView;
+
+public record BankAccountViewResponse(String accountNumber, UUID aggregateId, String accountHolder, BigDecimal balance, int version) {
+
+    public static BankAccountViewResponse from(BankAccountView view) {
+        return new BankAccountViewResponse(view.getAccountNumber(), view.getAggregateId(), view.getAccountHolder(), view.getBalance(), view.getVersion());
+    }
+}
@@ -0,0 +1,31 @@
+package cqrs.bankaccount.api;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = BulkCommandRequest.Create.class, name = "create"),
+        @JsonSubTypes.Type(value = BulkCommandRequest.Deposit.class, name = "deposit"),
+        @JsonSubTypes.Type(value = BulkCommandRequest.Withdraw.class, name = "withdraw"),
+        @JsonSubTypes.Type(value = BulkCommandRequest.Transfer.class, name = "transfer")
+})
+public sealed interface BulkCommandRequest {
+
+    String idempotencyKey();
+
+    record Create(String idempotencyKey, String accountNumber, String accountHolder, UUID userId) implements BulkCommandRequest {
+    }
+
+    record Deposit(String idempotencyKey, String accountNumber, BigDecimal amount) implements BulkCommandRequest {
+    }
+
+    record Withdraw(String idempotencyKey, String accountNumber, BigDecimal amount) implements BulkCommandRequest {
+    }
+
+    record Transfer(String idempotencyKey, String fromAccountNumber, String toAccountNumber, BigDecimal amount) implements BulkCommandRequest {
+    }
+}
@@ -0,0 +1,12 @@
+package cqrs.bankaccount.api;
+
+public record BulkCommandResult(int index, boolean succeeded, BankAccountResponse account, String error) {
+
+    public static BulkCommandResult success(int index, BankAccountResponse account) {
+        return new BulkCommandResult(index, true, account, null);
+    }
+
+    public static BulkCommandResult failure(int index, String error) {
+        return new BulkCommandResult(index, false, null, error);
+    }
+}
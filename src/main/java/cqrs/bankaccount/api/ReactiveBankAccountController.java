@@ -0,0 +1,51 @@
+package cqrs.bankaccount.api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.command.BankAccountTransferCommand;
+import cqrs.bankaccount.command.BankAccountWithdrawCommand;
+import cqrs.bankaccount.command.ReactiveBankAccountCommandService;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * The command endpoints of {@link BankAccountController} on the non-blocking pipeline. Spring MVC completes the
+ * request asynchronously when the {@code Mono} emits.
+ */
+@RestController
+@RequestMapping("/api/reactive/accounts")
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveBankAccountController {
+    private final ReactiveBankAccountCommandService commandService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<BankAccountResponse> create(@RequestBody BankAccountCreatedCommand command) {
+        return commandService.createAccount(command).map(BankAccountResponse::from);
+    }
+
+    @PostMapping("/{accountNumber}/deposits")
+    public Mono<BankAccountResponse> deposit(@PathVariable String accountNumber, @RequestBody AmountRequest request) {
+        return commandService.deposit(new BankAccountDepositCommand(accountNumber, request.amount())).map(BankAccountResponse::from);
+    }
+
+    @PostMapping("/{accountNumber}/withdrawals")
+    public Mono<BankAccountResponse> withdraw(@PathVariable String accountNumber, @RequestBody AmountRequest request) {
+        return commandService.withdraw(new BankAccountWithdrawCommand(accountNumber, request.amount())).map(BankAccountResponse::from);
+    }
+
+    @PostMapping("/transfers")
+    public Mono<BankAccountResponse> transfer(@RequestBody BankAccountTransferCommand command) {
+        return commandService.transfer(command).map(BankAccountResponse::from);
+    }
+}
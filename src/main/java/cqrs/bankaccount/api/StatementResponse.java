@@ -0,0 +1,14 @@
+package cqrs.bankaccount.api;
+
+import java.util.List;
+
+import cqrs.bankaccount.query.StatementPage;
+
+public record StatementResponse(String accountNumber, List<BankAccountTransactionResponse> transactions, String next) {
+
+    public static StatementResponse from(String accountNumber, StatementPage page) {
+        return new StatementResponse(accountNumber,
+                page.transactions().stream().map(BankAccountTransactionResponse::from).toList(),
+                page.next() != null ? page.next().toString() : null);
+    }
+}
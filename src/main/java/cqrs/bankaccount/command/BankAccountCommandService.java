@@ -1,8 +1,16 @@
 package cqrs.bankaccount.command;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,10 +19,22 @@ import cqrs.bankaccount.model.BankAccount;
 import cqrs.bankaccount.model.BankAccountSnapshot;
 import cqrs.bankaccount.model.BankAccountValidation;
 import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.bankaccount.saga.TransferSaga;
+import cqrs.bankaccount.saga.TransferSaga.Status;
+import cqrs.bankaccount.saga.TransferSagaProperties;
+import cqrs.bankaccount.saga.TransferSagaRepository;
+import cqrs.common.AggregateHistory;
+import cqrs.common.AggregateHistoryLoader;
 import cqrs.common.Event;
 import cqrs.common.EventStore;
+import cqrs.common.idempotency.IdempotencyStore;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.reservation.ReservationStore;
 import cqrs.common.snapshot.SnapshotStore;
 import cqrs.common.snapshot.SnapshotStrategy;
+import cqrs.common.tracing.CommandTracing;
+import cqrs.common.tracing.Correlation;
+import cqrs.common.tracing.CorrelationContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,74 +42,255 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 public class BankAccountCommandService {
+    public static final String ACCOUNT_NUMBER_SCOPE = "account-number";
+
     private final EventStore eventStore;
     private final BankAccountValidation validation;
     private final BankAccountQueryService queryService;
     private final SnapshotStore<BankAccountSnapshot> snapshotStore;
+    private final AggregateHistoryLoader<BankAccountSnapshot> historyLoader;
     private final SnapshotStrategy snapshotStrategy;
+    private final EventSourcingMetrics metrics;
+    private final CommandTracing tracing;
+    private final IdempotencyStore idempotencyStore;
+    private final HotAccountLedger hotAccounts;
+    private final ReservationStore reservations;
+    private final TransferSagaRepository sagas;
+    private final TransferSagaProperties sagaProperties;
 
     @Transactional
     public BankAccount createAccount(BankAccountCreatedCommand command) {
-        if (validation.exists(command.accountNumber())) {
-            throw new IllegalArgumentException("Account number already exists");
-        }
+        return handle("create_account", command.idempotencyKey(), () -> {
+            if (!validation.existsUser(command.userId())) {
+                throw new IllegalArgumentException("User not found with id: " + command.userId());
+            }
 
-        BankAccount account = new BankAccount(command.accountNumber(), command.accountHolder(), command.userId());
-        saveEvents(account);
+            BankAccount account = tracing.phase("decide",
+                    () -> new BankAccount(command.accountNumber(), command.accountHolder(), command.userId()));
+            boolean reserved = tracing.phase("reserve",
+                    () -> reservations.reserve(ACCOUNT_NUMBER_SCOPE, command.accountNumber(), account.getAggregateId()));
+            if (!reserved) {
+                throw new IllegalArgumentException("Account number already exists");
+            }
+            saveEvents(account);
 
-        log.info("Account created. accountNumber={}, accountHolder={}", command.accountNumber(), command.accountHolder());
-        return account;
+            log.info("Account created. accountNumber={}, accountHolder={}", command.accountNumber(), command.accountHolder());
+            return account;
+        });
     }
 
     @Transactional
     public BankAccount deposit(BankAccountDepositCommand command) {
-        BankAccount account = loadAccount(queryService.getAggregateIdByAccountNumber(command.accountNumber()));
+        return handle("deposit", command.idempotencyKey(), () -> {
+            UUID aggregateId = lookup(command.accountNumber());
+            if (hotAccounts.isHot(command.accountNumber())) {
+                tracing.phase("append", () -> hotAccounts.deposit(aggregateId, command.accountNumber(), command.amount()));
+                log.info("Deposit credited to sub-ledger. accountNumber={}, amount={}", command.accountNumber(), command.amount());
+                return loadAccount(aggregateId).withPendingCredit(command.amount());
+            }
+            BankAccount account = loadAccount(aggregateId);
 
-        account.deposit(command.amount());
+            tracing.phase("decide", () -> account.deposit(command.amount()));
 
-        saveEvents(account);
+            saveEvents(account);
 
-        log.info("Deposit completed. accountNumber={}, amount={}", command.accountNumber(), command.amount());
-        return account;
+            log.info("Deposit completed. accountNumber={}, amount={}", command.accountNumber(), command.amount());
+            return account;
+        });
     }
 
     @Transactional
     public BankAccount withdraw(BankAccountWithdrawCommand command) {
-        BankAccount account = loadAccount(queryService.getAggregateIdByAccountNumber(command.accountNumber()));
+        return handle("withdraw", command.idempotencyKey(), () -> {
+            BankAccount account = loadAccount(lookup(command.accountNumber()));
+            consolidateIfShort(account, command.amount());
 
-        account.withdraw(command.amount());
+            tracing.phase("decide", () -> account.withdraw(command.amount()));
 
-        saveEvents(account);
+            saveEvents(account);
 
-        log.info("Withdrawal completed. accountNumber={}, amount={}", command.accountNumber(), command.amount());
-        return account;
+            log.info("Withdrawal completed. accountNumber={}, amount={}", command.accountNumber(), command.amount());
+            return account;
+        });
     }
 
     @Transactional
     public BankAccount transfer(BankAccountTransferCommand command) {
-        UUID fromAggregateId = queryService.getAggregateIdByAccountNumber(command.fromAccountNumber());
-        UUID toAggregateId = queryService.getAggregateIdByAccountNumber(command.toAccountNumber());
+        return handle("transfer", command.idempotencyKey(), () -> {
+            UUID fromAggregateId = lookup(command.fromAccountNumber());
+            UUID toAggregateId = lookup(command.toAccountNumber());
+
+            // Without a saga the target is credited in this transaction, so both streams are read together.
+            boolean creditsTarget = !sagaProperties.enabled() && !hotAccounts.isHot(command.toAccountNumber());
+            Map<UUID, BankAccount> accounts = creditsTarget
+                    ? loadAccounts(List.of(fromAggregateId, toAggregateId))
+                    : Map.of(fromAggregateId, loadAccount(fromAggregateId));
+            BankAccount fromAccount = accounts.get(fromAggregateId);
+            consolidateIfShort(fromAccount, command.amount());
+
+            tracing.phase("decide", () -> fromAccount.transferTo(command.toAccountNumber(), command.amount()));
 
-        BankAccount fromAccount = loadAccount(fromAggregateId);
+            if (sagaProperties.enabled()) {
+                UUID transferId = fromAccount.getUncommittedEvents().getLast().eventId();
+                saveEvents(fromAccount);
+                UUID correlationId = CorrelationContext.current().map(Correlation::correlationId).orElse(transferId);
+                sagas.save(new TransferSaga(transferId, fromAggregateId, command.fromAccountNumber(), toAggregateId,
+                        command.toAccountNumber(), command.amount(), correlationId, LocalDateTime.now()));
+
+                log.info("Transfer debited, credit pending. transferId={}, fromAccount={}, toAccount={}, amount={}",
+                        transferId, command.fromAccountNumber(), command.toAccountNumber(), command.amount());
+                return fromAccount;
+            }
+
+            saveEvents(fromAccount);
+            if (creditsTarget) {
+                BankAccount toAccount = accounts.get(toAggregateId);
+                tracing.phase("decide", () -> toAccount.transferFrom(command.fromAccountNumber(), command.amount()));
+                saveEvents(toAccount);
+            } else {
+                creditTarget(toAggregateId, command.toAccountNumber(), command.fromAccountNumber(), command.amount());
+            }
+
+            log.info("Transfer completed. fromAccount={}, toAccount={}, amount={}", command.fromAccountNumber(), command.toAccountNumber(), command.amount());
+            return fromAccount;
+        });
+    }
+
+    /**
+     * Second step of a transfer saga: credits the target in a transaction of its own. Returns false if the saga was
+     * already settled.
+     */
+    @Transactional
+    public boolean creditTransfer(UUID transferId) {
+        return timed("transfer_credit", () -> {
+            Optional<TransferSaga> saga = sagas.findById(transferId).filter(s -> s.getStatus() == Status.DEBITED);
+            if (saga.isEmpty() || sagas.settle(transferId, Status.CREDITED, LocalDateTime.now()) == 0) {
+                return false;
+            }
+            TransferSaga transfer = saga.get();
+            creditTarget(transfer.getToAggregateId(), transfer.getToAccountNumber(), transfer.getFromAccountNumber(), transfer.getAmount());
+
+            log.info("Transfer credited. transferId={}, toAccount={}, amount={}", transferId, transfer.getToAccountNumber(), transfer.getAmount());
+            return true;
+        });
+    }
+
+    /**
+     * Compensates a transfer saga whose target could not be credited by refunding the source.
+     * Returns false if the saga was already settled.
+     */
+    @Transactional
+    public boolean refundTransfer(UUID transferId, String reason) {
+        return timed("transfer_refund", () -> {
+            Optional<TransferSaga> saga = sagas.findById(transferId).filter(s -> s.getStatus() == Status.DEBITED);
+            if (saga.isEmpty() || sagas.settle(transferId, Status.REFUNDED, LocalDateTime.now()) == 0) {
+                return false;
+            }
+            TransferSaga transfer = saga.get();
+            BankAccount account = loadAccount(transfer.getFromAggregateId());
+
+            tracing.phase("decide", () -> account.refundTransfer(transferId, transfer.getToAccountNumber(), transfer.getAmount()));
+
+            saveEvents(account);
+
+            log.warn("Transfer refunded. transferId={}, fromAccount={}, amount={}, reason={}",
+                    transferId, transfer.getFromAccountNumber(), transfer.getAmount(), reason);
+            return true;
+        });
+    }
+
+    private void creditTarget(UUID toAggregateId, String toAccountNumber, String fromAccountNumber, BigDecimal amount) {
+        if (hotAccounts.isHot(toAccountNumber)) {
+            tracing.phase("append", () -> hotAccounts.transferIn(toAggregateId, toAccountNumber, fromAccountNumber, amount));
+            return;
+        }
         BankAccount toAccount = loadAccount(toAggregateId);
 
-        fromAccount.transferTo(command.toAccountNumber(), command.amount());
-        toAccount.transferFrom(command.fromAccountNumber(), command.amount());
+        tracing.phase("decide", () -> toAccount.transferFrom(fromAccountNumber, amount));
 
-        saveEvents(fromAccount);
         saveEvents(toAccount);
+    }
 
-        log.info("Transfer completed. fromAccount={}, toAccount={}, amount={}", command.fromAccountNumber(), command.toAccountNumber(), command.amount());
-        return fromAccount;
+    /**
+     * Sweeps one of a hot account's sub-ledgers into its balance. The schedule runs this once per shard, each in a
+     * transaction of its own, so a shard busy with credits does not hold up the others.
+     */
+    @Transactional
+    public BankAccount consolidate(String accountNumber, int shardIndex) {
+        return handle("consolidate", null, () -> {
+            BankAccount account = loadAccount(lookup(accountNumber));
+            BigDecimal swept = sweep(account, shardIndex);
+            if (swept.signum() > 0) {
+                consolidate(account, swept);
+                saveEvents(account);
+            }
+            return account;
+        });
+    }
+
+    /**
+     * A debit the consolidated balance cannot cover sweeps shards inline, only until it is covered.
+     */
+    private void consolidateIfShort(BankAccount account, BigDecimal amount) {
+        if (!hotAccounts.isHot(account.getAccountNumber())) {
+            return;
+        }
+        BigDecimal swept = BigDecimal.ZERO;
+        for (int shard = 0; shard < hotAccounts.shards() && account.getBalance().add(swept).compareTo(amount) < 0; shard++) {
+            swept = swept.add(sweep(account, shard));
+        }
+        if (swept.signum() > 0) {
+            consolidate(account, swept);
+        }
+    }
+
+    private BigDecimal sweep(BankAccount account, int shardIndex) {
+        return tracing.phase("consolidate", () -> hotAccounts.sweep(account.getAggregateId(), account.getAccountNumber(), shardIndex));
+    }
+
+    private void consolidate(BankAccount account, BigDecimal swept) {
+        account.consolidate(swept);
+        log.debug("Sub-ledgers consolidated. accountNumber={}, amount={}", account.getAccountNumber(), swept);
+    }
+
+    private BankAccount handle(String command, String idempotencyKey, Supplier<BankAccount> body) {
+        return timed(command, () -> idempotencyKey == null ? body.get() : handleOnce(command, idempotencyKey, body));
+    }
+
+    private <T> T timed(String command, Supplier<T> body) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            T result = tracing.command(command, body);
+            succeeded = true;
+            return result;
+        } finally {
+            metrics.command(command).record(start, succeeded);
+        }
+    }
+
+    private BankAccount handleOnce(String command, String idempotencyKey, Supplier<BankAccount> body) {
+        Optional<BankAccountSnapshot> previous = idempotencyStore.claim(command, idempotencyKey, BankAccountSnapshot.class);
+        if (previous.isPresent()) {
+            log.info("Command already processed. idempotencyKey={}, aggregateId={}, version={}",
+                    idempotencyKey, previous.get().getAggregateId(), previous.get().getVersion());
+            return previous.get().toBankAccount();
+        }
+
+        BankAccount account = body.get();
+        idempotencyStore.record(command, idempotencyKey, account.getAggregateId(), account.getCurrentVersion(), account.createSnapshot());
+        return account;
+    }
+
+    private UUID lookup(String accountNumber) {
+        return tracing.phase("lookup", () -> queryService.getAggregateIdByAccountNumber(accountNumber));
     }
 
     private void saveEvents(BankAccount account) {
         snapshotIfNeeded(account);
         List<Event> events = account.getUncommittedEvents();
         if (!events.isEmpty()) {
-            for (Event event : events) {
-                eventStore.save(account.getAggregateId(), event);
-            }
+            tracing.phase("append", () -> eventStore.saveAll(account.getAggregateId(), events));
             account.clearUncommittedEvents();
         }
     }
@@ -97,16 +298,48 @@ public class BankAccountCommandService {
     private void snapshotIfNeeded(BankAccount account) {
         if (snapshotStrategy.shouldCreateSnapshot(account.getCurrentVersion())) {
             BankAccountSnapshot snapshot = account.createSnapshot();
-            snapshotStore.save(snapshot);
+            tracing.phase("snapshot.write", () -> snapshotStore.save(snapshot));
             log.debug("Snapshot created for aggregateId: {}, version: {}", account.getAggregateId(), account.getCurrentVersion());
         }
     }
 
     private BankAccount loadAccount(UUID aggregateId) {
-        Optional<BankAccountSnapshot> snapshot = snapshotStore.findLatest(aggregateId, BankAccountSnapshot.class);
+        long start = System.nanoTime();
+        AggregateHistory<BankAccountSnapshot> history = tracing.phase("snapshot.fetch",
+                () -> historyLoader.load(aggregateId, BankAccountSnapshot.class));
+        return tracing.phase("replay", () -> hydrate(aggregateId, history, start));
+    }
+
+    /**
+     * Loads several accounts with one snapshot read and one event read per chunk of aggregates instead of a round
+     * trip per account.
+     */
+    private Map<UUID, BankAccount> loadAccounts(Collection<UUID> aggregateIds) {
+        long start = System.nanoTime();
+        Set<UUID> ids = new LinkedHashSet<>(aggregateIds);
+        Map<UUID, BankAccountSnapshot> snapshots = tracing.phase("snapshot.fetch",
+                () -> snapshotStore.loadMany(ids, BankAccountSnapshot.class));
+
+        Map<UUID, Integer> afterVersions = new LinkedHashMap<>();
+        for (UUID aggregateId : ids) {
+            BankAccountSnapshot snapshot = snapshots.get(aggregateId);
+            afterVersions.put(aggregateId, snapshot == null ? -1 : snapshot.getVersion());
+        }
+        return tracing.phase("replay", () -> {
+            Map<UUID, List<Event>> events = eventStore.loadMany(afterVersions);
+            Map<UUID, BankAccount> accounts = new LinkedHashMap<>();
+            for (UUID aggregateId : ids) {
+                AggregateHistory<BankAccountSnapshot> history = new AggregateHistory<>(
+                        Optional.ofNullable(snapshots.get(aggregateId)), events.getOrDefault(aggregateId, List.of()));
+                accounts.put(aggregateId, hydrate(aggregateId, history, start));
+            }
+            return accounts;
+        });
+    }
 
-        if (snapshot.isPresent()) {
-            BankAccountSnapshot snap = snapshot.get();
+    private BankAccount hydrate(UUID aggregateId, AggregateHistory<BankAccountSnapshot> history, long start) {
+        if (history.snapshot().isPresent()) {
+            BankAccountSnapshot snap = history.snapshot().get();
             BankAccount account = BankAccount.loadFromSnapshot(
                 snap.getAggregateId(),
                 snap.getAccountNumber(),
@@ -115,16 +348,19 @@ public class BankAccountCommandService {
                 snap.getBalance(),
                 snap.getVersion()
             );
-            account.replayEventsAfterSnapshot(eventStore.load(snap.getAggregateId(), snap.getVersion()));
+            account.replayEventsAfterSnapshot(history.events());
+            metrics.recordAggregateLoad(start, true, history.events().size());
             log.debug("Account loaded from snapshot. aggregateId: {}, version: {}", aggregateId, snap.getVersion());
             return account;
         }
 
-        List<Event> events = eventStore.load(aggregateId);
-        if (events.isEmpty()) {
+        if (history.events().isEmpty()) {
             throw new IllegalStateException("Account not found or no events for aggregateId: " + aggregateId);
         }
-        log.debug("Account loaded from event history. aggregateId: {}, eventCount: {}", aggregateId, events.size());
-        return BankAccount.loadFromHistory(aggregateId, events);
+        BankAccount account = BankAccount.loadFromHistory(aggregateId, history.events());
+        int eventCount = account.getCurrentVersion() + 1;
+        metrics.recordAggregateLoad(start, false, eventCount);
+        log.debug("Account loaded from event history. aggregateId: {}, eventCount: {}", aggregateId, eventCount);
+        return account;
     }
-}
\ No newline at end of file
+}
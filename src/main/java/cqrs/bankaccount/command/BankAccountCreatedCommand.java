@@ -2,7 +2,7 @@ package cqrs.bankaccount.command;
 
 import java.util.UUID;
 
-public record BankAccountCreatedCommand(String accountNumber, String accountHolder, UUID userId) {
+public record BankAccountCreatedCommand(String accountNumber, String accountHolder, UUID userId, String idempotencyKey) {
 
     public BankAccountCreatedCommand {
         if (accountNumber == null || accountNumber.isEmpty()) {
@@ -16,4 +16,8 @@ public record BankAccountCreatedCommand(String accountNumber, String accountHold
             throw new IllegalArgumentException("userId is required");
         }
     }
-}
\ No newline at end of file
+
+    public BankAccountCreatedCommand(String accountNumber, String accountHolder, UUID userId) {
+        this(accountNumber, accountHolder, userId, null);
+    }
+}
@@ -2,7 +2,7 @@ package cqrs.bankaccount.command;
 
 import java.math.BigDecimal;
 
-public record BankAccountDepositCommand(String accountNumber, BigDecimal amount) {
+public record BankAccountDepositCommand(String accountNumber, BigDecimal amount, String idempotencyKey) {
 
     public BankAccountDepositCommand {
         if (accountNumber == null || accountNumber.isEmpty()) {
@@ -12,4 +12,8 @@ public record BankAccountDepositCommand(String accountNumber, BigDecimal amount)
             throw new IllegalArgumentException("amount is required and must be greater than 0");
         }
     }
-}
\ No newline at end of file
+
+    public BankAccountDepositCommand(String accountNumber, BigDecimal amount) {
+        this(accountNumber, amount, null);
+    }
+}
@@ -0,0 +1,26 @@
+package cqrs.bankaccount.command;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.common.Event;
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.common.snapshot.SnapshotFactory;
+
+@Component
+public class BankAccountSnapshotFactory implements SnapshotFactory {
+
+    @Override
+    public boolean supports(Event firstEvent) {
+        return firstEvent instanceof AccountCreatedEvent;
+    }
+
+    @Override
+    public IsSnapshotData fromHistory(UUID aggregateId, List<Event> events) {
+        return BankAccount.loadFromHistory(aggregateId, events).createSnapshot();
+    }
+}
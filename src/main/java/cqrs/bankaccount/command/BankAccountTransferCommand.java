@@ -2,7 +2,7 @@ package cqrs.bankaccount.command;
 
 import java.math.BigDecimal;
 
-public record BankAccountTransferCommand(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+public record BankAccountTransferCommand(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String idempotencyKey) {
 
     public BankAccountTransferCommand {
         if (fromAccountNumber == null || fromAccountNumber.isEmpty()) {
@@ -11,8 +11,15 @@ public record BankAccountTransferCommand(String fromAccountNumber, String toAcco
         if (toAccountNumber == null || toAccountNumber.isEmpty()) {
             throw new IllegalArgumentException("toAccountNumber is required");
         }
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("amount is required and must be greater than 0");
         }
     }
-}
\ No newline at end of file
+
+    public BankAccountTransferCommand(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        this(fromAccountNumber, toAccountNumber, amount, null);
+    }
+}
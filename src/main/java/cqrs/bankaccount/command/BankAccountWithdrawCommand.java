@@ -2,7 +2,7 @@ package cqrs.bankaccount.command;
 
 import java.math.BigDecimal;
 
-public record BankAccountWithdrawCommand(String accountNumber, BigDecimal amount) {
+public record BankAccountWithdrawCommand(String accountNumber, BigDecimal amount, String idempotencyKey) {
 
     public BankAccountWithdrawCommand {
         if (accountNumber == null || accountNumber.isEmpty()) {
@@ -12,4 +12,8 @@ public record BankAccountWithdrawCommand(String accountNumber, BigDecimal amount
             throw new IllegalArgumentException("amount is required and must be greater than 0");
         }
     }
-}
\ No newline at end of file
+
+    public BankAccountWithdrawCommand(String accountNumber, BigDecimal amount) {
+        this(accountNumber, amount, null);
+    }
+}
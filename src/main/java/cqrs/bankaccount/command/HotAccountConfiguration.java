@@ -0,0 +1,9 @@
+package cqrs.bankaccount.command;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HotAccountProperties.class)
+public class HotAccountConfiguration {
+}
@@ -0,0 +1,37 @@
+package cqrs.bankaccount.command;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enabled with {@code app.hot-accounts.enabled=true}; consolidates every hot account's sub-ledgers each
+ * {@code app.hot-accounts.consolidate-interval}, one shard per transaction. A shard that loses a race with a credit
+ * or debit is simply retried on the next tick while the rest are swept.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.hot-accounts", name = "enabled", havingValue = "true")
+public class HotAccountConsolidation {
+    private final HotAccountLedger ledger;
+    private final BankAccountCommandService commandService;
+
+    @Scheduled(fixedDelayString = "${app.hot-accounts.consolidate-interval:PT1S}")
+    public void consolidate() {
+        for (String accountNumber : ledger.accountNumbers()) {
+            for (int shard = 0; shard < ledger.shards(); shard++) {
+                try {
+                    commandService.consolidate(accountNumber, shard);
+                } catch (RuntimeException e) {
+                    log.warn("Consolidation of hot account {} shard {} failed: {}", accountNumber, shard, e.getMessage());
+                }
+            }
+        }
+    }
+}
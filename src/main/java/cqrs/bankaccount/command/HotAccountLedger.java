@@ -0,0 +1,121 @@
+package cqrs.bankaccount.command;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import cqrs.bankaccount.model.LedgerShard;
+import cqrs.bankaccount.model.LedgerShardSnapshot;
+import cqrs.common.AggregateHistory;
+import cqrs.common.AggregateHistoryLoader;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import cqrs.common.snapshot.SnapshotStore;
+import cqrs.common.snapshot.SnapshotStrategy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sub-ledgers of the accounts listed in {@code app.hot-accounts.account-numbers}. Credits to such an account are
+ * spread over {@code shards} {@link LedgerShard} streams, so they no longer serialize on the account's own stream.
+ * Debits still decide on the account, against the balance consolidated so far.
+ * <p>
+ * Lowering {@code shards} strands whatever the dropped shards still hold, so only lower it after a consolidation
+ * has emptied them.
+ */
+@Slf4j
+@Component
+public class HotAccountLedger {
+    private final EventStore eventStore;
+    private final SnapshotStore<LedgerShardSnapshot> snapshotStore;
+    private final AggregateHistoryLoader<LedgerShardSnapshot> historyLoader;
+    private final SnapshotStrategy snapshotStrategy;
+    private final boolean enabled;
+    private final Set<String> accountNumbers;
+    private final int shards;
+
+    HotAccountLedger(
+            EventStore eventStore,
+            SnapshotStore<LedgerShardSnapshot> snapshotStore,
+            AggregateHistoryLoader<LedgerShardSnapshot> historyLoader,
+            SnapshotStrategy snapshotStrategy,
+            HotAccountProperties properties
+    ) {
+        this.eventStore = eventStore;
+        this.snapshotStore = snapshotStore;
+        this.historyLoader = historyLoader;
+        this.snapshotStrategy = snapshotStrategy;
+        this.enabled = properties.enabled();
+        this.accountNumbers = Set.copyOf(properties.accountNumbers());
+        this.shards = properties.shards();
+    }
+
+    public boolean isHot(String accountNumber) {
+        return enabled && accountNumbers.contains(accountNumber);
+    }
+
+    public Set<String> accountNumbers() {
+        return enabled ? accountNumbers : Set.of();
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public void deposit(UUID accountAggregateId, String accountNumber, BigDecimal amount) {
+        LedgerShard shard = anyShard(accountAggregateId, accountNumber);
+        shard.deposit(amount);
+        save(shard);
+    }
+
+    public void transferIn(UUID accountAggregateId, String accountNumber, String fromAccountNumber, BigDecimal amount) {
+        LedgerShard shard = anyShard(accountAggregateId, accountNumber);
+        shard.transferFrom(fromAccountNumber, amount);
+        save(shard);
+    }
+
+    /**
+     * Empties one shard of the account and returns what it held. The sweep is appended in the caller's
+     * transaction, which must consolidate the amount into the account before it commits; a credit racing the sweep
+     * fails one of the two on the shard's version constraint, without holding up the other shards.
+     */
+    public BigDecimal sweep(UUID accountAggregateId, String accountNumber, int shardIndex) {
+        LedgerShard shard = load(accountAggregateId, accountNumber, shardIndex);
+        BigDecimal swept = shard.sweep();
+        save(shard);
+        return swept;
+    }
+
+    private LedgerShard anyShard(UUID accountAggregateId, String accountNumber) {
+        return load(accountAggregateId, accountNumber, ThreadLocalRandom.current().nextInt(shards));
+    }
+
+    private LedgerShard load(UUID accountAggregateId, String accountNumber, int shardIndex) {
+        UUID shardId = LedgerShard.idOf(accountAggregateId, shardIndex);
+        AggregateHistory<LedgerShardSnapshot> history = historyLoader.load(shardId, LedgerShardSnapshot.class);
+        if (history.snapshot().isPresent()) {
+            LedgerShard shard = LedgerShard.loadFromSnapshot(history.snapshot().get());
+            shard.replayEventsAfterSnapshot(history.events());
+            return shard;
+        }
+        return history.events().isEmpty()
+                ? LedgerShard.empty(accountAggregateId, accountNumber, shardIndex)
+                : LedgerShard.loadFromHistory(shardId, history.events());
+    }
+
+    private void save(LedgerShard shard) {
+        List<Event> events = shard.getUncommittedEvents();
+        if (events.isEmpty()) {
+            return;
+        }
+        if (snapshotStrategy.shouldCreateSnapshot(shard.getCurrentVersion())) {
+            snapshotStore.save(shard.createSnapshot());
+            log.debug("Snapshot created for ledger shard: {}, version: {}", shard.getAggregateId(), shard.getCurrentVersion());
+        }
+        eventStore.saveAll(shard.getAggregateId(), events);
+        shard.clearUncommittedEvents();
+    }
+}
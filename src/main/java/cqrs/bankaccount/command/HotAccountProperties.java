@@ -0,0 +1,26 @@
+package cqrs.bankaccount.command;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Accounts in {@code accountNumbers} take credits on {@code shards} sub-ledgers, consolidated into the account
+ * every {@code consolidateInterval}.
+ */
+@ConfigurationProperties("app.hot-accounts")
+public record HotAccountProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<String> accountNumbers,
+        @DefaultValue("8") int shards,
+        @DefaultValue("PT1S") Duration consolidateInterval
+) {
+
+    public HotAccountProperties {
+        if (shards < 1) {
+            throw new IllegalArgumentException("app.hot-accounts.shards must be positive: " + shards);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package cqrs.bankaccount.command;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import cqrs.bankaccount.model.LedgerShard;
+import cqrs.bankaccount.model.event.ShardCreditedEvent;
+import cqrs.common.Event;
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.common.snapshot.SnapshotFactory;
+
+@Component
+public class LedgerShardSnapshotFactory implements SnapshotFactory {
+
+    @Override
+    public boolean supports(Event firstEvent) {
+        return firstEvent instanceof ShardCreditedEvent;
+    }
+
+    @Override
+    public IsSnapshotData fromHistory(UUID aggregateId, List<Event> events) {
+        return LedgerShard.loadFromHistory(aggregateId, events).createSnapshot();
+    }
+}
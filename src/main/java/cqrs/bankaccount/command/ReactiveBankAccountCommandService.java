@@ -0,0 +1,196 @@
+package cqrs.bankaccount.command;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.bankaccount.model.BankAccountSnapshot;
+import cqrs.common.Event;
+import cqrs.common.ReactiveEventStore;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.snapshot.ReactiveSnapshotStore;
+import cqrs.common.snapshot.SnapshotStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking variant of {@link BankAccountCommandService}: lookups, snapshot fetch, delta load and append are
+ * composed on R2DBC inside one reactive transaction, so an in-flight command holds neither a thread nor a JDBC
+ * connection while it waits on the database.
+ * <p>
+ * The JPA projections cannot join an R2DBC transaction, so the appended events are published after commit through
+ * {@link ReactiveProjections}, one JDBC transaction per account. The returned {@code Mono} completes once that has
+ * been attempted; a projection failure is logged rather than failing a command whose events are already durable,
+ * and the catch-up applies the events later. That step still blocks a {@code boundedElastic} thread and holds a
+ * JDBC connection, which caps the commands in flight at that pool's size rather than the R2DBC pool's.
+ * Idempotency keys are not supported on this path.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveBankAccountCommandService {
+    private final ReactiveEventStore eventStore;
+    private final ReactiveSnapshotStore<BankAccountSnapshot> snapshotStore;
+    private final SnapshotStrategy snapshotStrategy;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveProjections projections;
+    private final EventSourcingMetrics metrics;
+
+    public Mono<BankAccount> createAccount(BankAccountCreatedCommand command) {
+        return handle("reactive_create_account", existsUser(command.userId())
+                .flatMap(userExists -> userExists
+                        ? Mono.fromCallable(() -> new BankAccount(command.accountNumber(), command.accountHolder(), command.userId()))
+                        : Mono.<BankAccount>error(new IllegalArgumentException("User not found with id: " + command.userId())))
+                .flatMap(account -> reserveAccountNumber(account).thenReturn(List.of(account))));
+    }
+
+    public Mono<BankAccount> deposit(BankAccountDepositCommand command) {
+        return handle("reactive_deposit", lookup(command.accountNumber())
+                .flatMap(this::loadAccount)
+                .map(account -> {
+                    account.deposit(command.amount());
+                    return List.of(account);
+                }));
+    }
+
+    public Mono<BankAccount> withdraw(BankAccountWithdrawCommand command) {
+        return handle("reactive_withdraw", lookup(command.accountNumber())
+                .flatMap(this::loadAccount)
+                .map(account -> {
+                    account.withdraw(command.amount());
+                    return List.of(account);
+                }));
+    }
+
+    public Mono<BankAccount> transfer(BankAccountTransferCommand command) {
+        // Sequential rather than zipped: both loads share the transaction's single connection.
+        return handle("reactive_transfer", lookup(command.fromAccountNumber()).flatMap(this::loadAccount)
+                .zipWhen(from -> lookup(command.toAccountNumber()).flatMap(this::loadAccount))
+                .map(accounts -> {
+                    BankAccount fromAccount = accounts.getT1();
+                    BankAccount toAccount = accounts.getT2();
+                    fromAccount.transferTo(command.toAccountNumber(), command.amount());
+                    toAccount.transferFrom(command.fromAccountNumber(), command.amount());
+                    return List.of(fromAccount, toAccount);
+                }));
+    }
+
+    /**
+     * Runs {@code decide} and the appends of every account it changed in one transaction, then publishes the
+     * appended events. The first account is the command's result.
+     */
+    private Mono<BankAccount> handle(String command, Mono<List<BankAccount>> decide) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            EventSourcingMetrics.CommandMeters meters = metrics.command(command);
+            return decide
+                    .flatMap(accounts -> Flux.fromIterable(accounts)
+                            .concatMap(this::saveEvents)
+                            .collectList()
+                            .map(appended -> new Outcome(accounts.get(0), appended)))
+                    .as(transactionalOperator::transactional)
+                    .flatMap(outcome -> publish(outcome.events()).thenReturn(outcome.account()))
+                    .doOnSuccess(account -> meters.record(start, true))
+                    .doOnError(e -> meters.record(start, false));
+        });
+    }
+
+    private Mono<List<Event>> saveEvents(BankAccount account) {
+        List<Event> events = account.getUncommittedEvents();
+        Mono<Void> snapshot = snapshotStrategy.shouldCreateSnapshot(account.getCurrentVersion())
+                ? snapshotStore.save(account.createSnapshot())
+                : Mono.empty();
+        return snapshot
+                .then(eventStore.saveAll(account.getAggregateId(), events))
+                .then(Mono.fromCallable(() -> {
+                    account.clearUncommittedEvents();
+                    return events;
+                }));
+    }
+
+    private Mono<Void> publish(List<List<Event>> appended) {
+        return Flux.fromIterable(appended)
+                .filter(events -> !events.isEmpty())
+                .concatMap(events -> Mono.<Void>fromRunnable(() -> projections.publish(events.get(0).aggregateId(), events))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(e -> {
+                            log.error("Projection update failed after commit, left to catch-up. aggregateId={}, events={}",
+                                    events.get(0).aggregateId(), events.size(), e);
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Mono<BankAccount> loadAccount(UUID aggregateId) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return snapshotStore.findLatest(aggregateId, BankAccountSnapshot.class)
+                    .flatMap(snapshot -> eventStore.load(aggregateId, snapshot.getVersion())
+                            .collectList()
+                            .map(events -> {
+                                BankAccount account = snapshot.toBankAccount();
+                                account.replayEventsAfterSnapshot(events);
+                                metrics.recordAggregateLoad(start, true, events.size());
+                                return account;
+                            }))
+                    .switchIfEmpty(Mono.defer(() -> eventStore.load(aggregateId)
+                            .collectList()
+                            .map(events -> {
+                                if (events.isEmpty()) {
+                                    throw new IllegalStateException("Account not found or no events for aggregateId: " + aggregateId);
+                                }
+                                metrics.recordAggregateLoad(start, false, events.size());
+                                return BankAccount.loadFromHistory(aggregateId, events);
+                            })));
+        });
+    }
+
+    private Mono<UUID> lookup(String accountNumber) {
+        return findAggregateId(accountNumber)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Account not found")));
+    }
+
+    private Mono<UUID> findAggregateId(String accountNumber) {
+        return databaseClient.sql("select aggregate_id from bank_account_view where account_number = :accountNumber")
+                .bind("accountNumber", accountNumber)
+                .map((row, metadata) -> row.get("aggregate_id", UUID.class))
+                .one();
+    }
+
+    /**
+     * Same claim as {@link cqrs.infrastructure.reservation.JdbcReservationStore}, inside the reactive transaction.
+     */
+    private Mono<Void> reserveAccountNumber(BankAccount account) {
+        return databaseClient.sql("insert into unique_reservation (scope, reserved_value, owner_id, reserved_at) "
+                        + "values (:scope, :value, :ownerId, :reservedAt)")
+                .bind("scope", BankAccountCommandService.ACCOUNT_NUMBER_SCOPE)
+                .bind("value", account.getAccountNumber())
+                .bind("ownerId", account.getAggregateId())
+                .bind("reservedAt", LocalDateTime.now())
+                .then()
+                .onErrorMap(DuplicateKeyException.class, e -> new IllegalArgumentException("Account number already exists"));
+    }
+
+    private Mono<Boolean> existsUser(UUID userId) {
+        return databaseClient.sql("select user_id from user_view where user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> row.get("user_id", UUID.class))
+                .one()
+                .hasElement();
+    }
+
+    private record Outcome(BankAccount account, List<List<Event>> events) {
+    }
+}
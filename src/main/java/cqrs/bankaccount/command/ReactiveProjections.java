@@ -0,0 +1,148 @@
+package cqrs.bankaccount.command;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies events appended by {@link ReactiveBankAccountCommandService} to the JPA read models. Those events commit
+ * before the projections run, so {@code bank_account_view.version} records how far each account has been projected.
+ * The view row is locked while the events after it are published, which makes the command's own publish and the
+ * catch-up safe to run for the same account: neither applies an event twice.
+ * <p>
+ * The catch-up walks {@code event_store} by id from where the previous run stopped, looking at rows older than
+ * {@code app.reactive.catch-up-after}, and projects the accounts whose view is behind. The position is kept in
+ * memory, so after a restart the first runs rescan the table from the start.
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveProjections {
+    private static final String ACCOUNT_CREATED = AccountCreatedEvent.class.getName();
+
+    private final EventStore eventStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration catchUpAfter;
+    private final int batchSize;
+    private long position;
+
+    public ReactiveProjections(
+            EventStore eventStore,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            DataSource dataSource,
+            @Value("${app.reactive.catch-up-after:PT1M}") Duration catchUpAfter,
+            @Value("${app.reactive.catch-up-batch-size:1000}") int batchSize
+    ) {
+        this.eventStore = eventStore;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.catchUpAfter = catchUpAfter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Publishes the events of one account that its view has not seen yet.
+     */
+    public void publish(UUID aggregateId, List<Event> events) {
+        project(aggregateId, projected -> events);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reactive.catch-up-interval:PT30S}")
+    public synchronized void catchUp() {
+        LocalDateTime before = LocalDateTime.now().minus(catchUpAfter);
+        int caughtUp = 0;
+        Batch batch;
+        do {
+            batch = scan(before);
+            for (UUID aggregateId : batch.behind()) {
+                try {
+                    project(aggregateId, projected -> eventStore.load(aggregateId, projected));
+                    caughtUp++;
+                } catch (RuntimeException e) {
+                    log.warn("Read model catch-up failed. aggregateId={}", aggregateId, e);
+                }
+            }
+        } while (batch.more());
+        if (caughtUp > 0) {
+            log.warn("Read models caught up with the event store. aggregates={}", caughtUp);
+        }
+    }
+
+    /**
+     * Advances {@link #position} over at most one batch and returns the accounts whose view is behind a scanned row.
+     * Stops at the first row younger than {@code before}, whose projection may still be in flight.
+     */
+    private Batch scan(LocalDateTime before) {
+        List<ScannedRow> rows = jdbcTemplate.query("""
+                select e.id, e.aggregate_id, e.event_type, e.event_version, e.created_at, v.version as projected
+                from event_store e
+                left join bank_account_view v on v.aggregate_id = e.aggregate_id
+                where e.id > ?
+                order by e.id
+                fetch first ? rows only
+                """, (rs, rowNum) -> {
+            Integer projected = rs.getObject("projected", Integer.class);
+            boolean behind = projected == null
+                    ? ACCOUNT_CREATED.equals(rs.getString("event_type"))
+                    : rs.getInt("event_version") > projected;
+            return new ScannedRow(rs.getLong("id"), rs.getObject("aggregate_id", UUID.class),
+                    rs.getTimestamp("created_at").toLocalDateTime(), behind);
+        }, position, batchSize);
+
+        Set<UUID> behind = new LinkedHashSet<>();
+        for (ScannedRow row : rows) {
+            if (row.createdAt().isAfter(before)) {
+                return new Batch(behind, false);
+            }
+            position = row.id();
+            if (row.behind()) {
+                behind.add(row.aggregateId());
+            }
+        }
+        return new Batch(behind, rows.size() == batchSize);
+    }
+
+    private void project(UUID aggregateId, IntFunction<List<Event>> eventsAfter) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Integer> versions = jdbcTemplate.queryForList(
+                    "select version from bank_account_view where aggregate_id = ? for update", Integer.class, aggregateId);
+            int projected = versions.isEmpty() ? -1 : versions.get(0);
+            for (Event event : eventsAfter.apply(projected)) {
+                if (event.version() > projected) {
+                    eventPublisher.publishEvent(event);
+                }
+            }
+        });
+    }
+
+    private record ScannedRow(long id, UUID aggregateId, LocalDateTime createdAt, boolean behind) {
+    }
+
+    private record Batch(Set<UUID> behind, boolean more) {
+    }
+}
@@ -9,6 +9,8 @@ import cqrs.bankaccount.model.event.AccountCreatedEvent;
 import cqrs.bankaccount.model.event.MoneyDepositedEvent;
 import cqrs.bankaccount.model.event.MoneyTransferEvent;
 import cqrs.bankaccount.model.event.MoneyWithdrawnEvent;
+import cqrs.bankaccount.model.event.ShardCreditsConsolidatedEvent;
+import cqrs.bankaccount.model.event.TransferRefundedEvent;
 import cqrs.common.AggregateRoot;
 import cqrs.common.Event;
 
@@ -70,6 +72,8 @@ public class BankAccount {
             case MoneyDepositedEvent e -> apply(e);
             case MoneyWithdrawnEvent e -> apply(e);
             case MoneyTransferEvent e -> apply(e);
+            case ShardCreditsConsolidatedEvent e -> apply(e);
+            case TransferRefundedEvent e -> apply(e);
             default -> throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
         }
     }
@@ -99,6 +103,14 @@ public class BankAccount {
         }
     }
 
+    private void apply(ShardCreditsConsolidatedEvent event) {
+        this.balance = this.balance.add(event.amount());
+    }
+
+    private void apply(TransferRefundedEvent event) {
+        this.balance = this.balance.add(event.amount());
+    }
+
     private void validation(String accountNumber, String accountHolder, UUID userId) {
         if (accountNumber == null || accountNumber.isEmpty()) {
             throw new IllegalArgumentException("Account number is required");
@@ -148,6 +160,9 @@ public class BankAccount {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
+        if (accountNumber.equals(toAccountNumber)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
         if (balance.compareTo(amount) < 0) {
             throw new IllegalArgumentException("Insufficient funds");
         }
@@ -177,6 +192,42 @@ public class BankAccount {
         aggregateRoot.recordAndApplyEvent(event);
     }
 
+    public void refundTransfer(UUID transferId, String toAccountNumber, BigDecimal amount) {
+        TransferRefundedEvent event = new TransferRefundedEvent(
+            UUID.randomUUID(),
+            aggregateRoot.getAggregateId(),
+            transferId,
+            toAccountNumber,
+            amount,
+            LocalDateTime.now(),
+            aggregateRoot.getCurrentVersion() + 1
+        );
+        aggregateRoot.recordAndApplyEvent(event);
+    }
+
+    public void consolidate(BigDecimal sweptAmount) {
+        if (sweptAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+
+        ShardCreditsConsolidatedEvent event = new ShardCreditsConsolidatedEvent(
+            UUID.randomUUID(),
+            aggregateRoot.getAggregateId(),
+            sweptAmount,
+            LocalDateTime.now(),
+            aggregateRoot.getCurrentVersion() + 1
+        );
+        aggregateRoot.recordAndApplyEvent(event);
+    }
+
+    /**
+     * Copy for a command's response whose balance also counts {@code amount} credited to a sub-ledger and not
+     * consolidated yet.
+     */
+    public BankAccount withPendingCredit(BigDecimal amount) {
+        return new BankAccount(getAggregateId(), accountNumber, accountHolder, userId, balance.add(amount), getCurrentVersion());
+    }
+
     public BankAccountSnapshot createSnapshot() {
         return new BankAccountSnapshot(
                 this.aggregateRoot.getAggregateId(),
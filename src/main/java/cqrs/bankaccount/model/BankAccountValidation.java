@@ -3,7 +3,7 @@ package cqrs.bankaccount.model;
 import java.util.UUID;
 
 public interface BankAccountValidation {
-    boolean exists(String accountNumber);
-
     boolean exists(UUID aggregateId);
+
+    boolean existsUser(UUID userId);
 }
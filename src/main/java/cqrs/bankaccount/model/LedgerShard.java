@@ -0,0 +1,172 @@
+package cqrs.bankaccount.model;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import cqrs.bankaccount.model.event.ShardCreditedEvent;
+import cqrs.bankaccount.model.event.ShardSweptEvent;
+import cqrs.common.AggregateRoot;
+import cqrs.common.Event;
+
+/**
+ * One sub-ledger of a hot account. Credits land on a shard instead of the account's own stream, so concurrent
+ * credits only contend when they pick the same shard. {@code pending} is what has been credited since the last
+ * sweep into the account.
+ */
+public class LedgerShard {
+    private final AggregateRoot aggregateRoot;
+    private UUID accountAggregateId;
+    private String accountNumber;
+    private int shardIndex;
+    private BigDecimal pending = BigDecimal.ZERO;
+
+    private LedgerShard(UUID accountAggregateId, String accountNumber, int shardIndex) {
+        this.aggregateRoot = new AggregateRoot(idOf(accountAggregateId, shardIndex), -1, this::handleEvent);
+        this.accountAggregateId = accountAggregateId;
+        this.accountNumber = accountNumber;
+        this.shardIndex = shardIndex;
+    }
+
+    private LedgerShard(UUID aggregateId, List<Event> events) {
+        this.aggregateRoot = new AggregateRoot(aggregateId, events, this::handleEvent);
+    }
+
+    private LedgerShard(LedgerShardSnapshot snapshot) {
+        this.aggregateRoot = new AggregateRoot(snapshot.getAggregateId(), snapshot.getVersion(), this::handleEvent);
+        this.accountAggregateId = snapshot.getAccountAggregateId();
+        this.accountNumber = snapshot.getAccountNumber();
+        this.shardIndex = snapshot.getShardIndex();
+        this.pending = snapshot.getPending();
+    }
+
+    /**
+     * Shard ids are derived from the account and the shard index, so finding a shard never needs a lookup.
+     */
+    public static UUID idOf(UUID accountAggregateId, int shardIndex) {
+        return UUID.nameUUIDFromBytes((accountAggregateId + "#" + shardIndex).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LedgerShard empty(UUID accountAggregateId, String accountNumber, int shardIndex) {
+        return new LedgerShard(accountAggregateId, accountNumber, shardIndex);
+    }
+
+    public static LedgerShard loadFromHistory(UUID aggregateId, List<Event> events) {
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("Cannot reconstitute LedgerShard from empty event list.");
+        }
+        return new LedgerShard(aggregateId, events);
+    }
+
+    public static LedgerShard loadFromSnapshot(LedgerShardSnapshot snapshot) {
+        return new LedgerShard(snapshot);
+    }
+
+    public void replayEventsAfterSnapshot(List<Event> events) {
+        for (Event event : events) {
+            this.aggregateRoot.replayEvent(event);
+        }
+    }
+
+    private void handleEvent(Event event) {
+        switch (event) {
+            case ShardCreditedEvent e -> apply(e);
+            case ShardSweptEvent e -> apply(e);
+            default -> throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+        }
+    }
+
+    private void apply(ShardCreditedEvent event) {
+        this.accountAggregateId = event.accountAggregateId();
+        this.accountNumber = event.accountNumber();
+        this.shardIndex = event.shardIndex();
+        this.pending = this.pending.add(event.amount());
+    }
+
+    private void apply(ShardSweptEvent event) {
+        this.pending = this.pending.subtract(event.amount());
+    }
+
+    public void deposit(BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.valueOf(10)) < 0) {
+            throw new IllegalArgumentException("Amount must be greater than 10");
+        }
+        credit(amount, null);
+    }
+
+    public void transferFrom(String fromAccountNumber, BigDecimal amount) {
+        credit(amount, fromAccountNumber);
+    }
+
+    private void credit(BigDecimal amount, String fromAccountNumber) {
+        ShardCreditedEvent event = new ShardCreditedEvent(
+            UUID.randomUUID(),
+            aggregateRoot.getAggregateId(),
+            accountAggregateId,
+            accountNumber,
+            shardIndex,
+            amount,
+            fromAccountNumber,
+            LocalDateTime.now(),
+            aggregateRoot.getCurrentVersion() + 1
+        );
+        aggregateRoot.recordAndApplyEvent(event);
+    }
+
+    /**
+     * Empties the shard and returns what it held, for the caller to consolidate into the account.
+     */
+    public BigDecimal sweep() {
+        BigDecimal amount = pending;
+        if (amount.signum() == 0) {
+            return amount;
+        }
+        ShardSweptEvent event = new ShardSweptEvent(
+            UUID.randomUUID(),
+            aggregateRoot.getAggregateId(),
+            accountAggregateId,
+            amount,
+            LocalDateTime.now(),
+            aggregateRoot.getCurrentVersion() + 1
+        );
+        aggregateRoot.recordAndApplyEvent(event);
+        return amount;
+    }
+
+    public LedgerShardSnapshot createSnapshot() {
+        return new LedgerShardSnapshot(
+                this.aggregateRoot.getAggregateId(),
+                this.accountAggregateId,
+                this.accountNumber,
+                this.shardIndex,
+                this.pending,
+                this.aggregateRoot.getCurrentVersion()
+        );
+    }
+
+    public UUID getAggregateId() {
+        return aggregateRoot.getAggregateId();
+    }
+
+    public List<Event> getUncommittedEvents() {
+        return aggregateRoot.getUncommittedEvents();
+    }
+
+    public void clearUncommittedEvents() {
+        aggregateRoot.clearUncommittedEvents();
+    }
+
+    public UUID getAccountAggregateId() {
+        return accountAggregateId;
+    }
+
+    public BigDecimal getPending() {
+        return pending;
+    }
+
+    public int getCurrentVersion() {
+        return aggregateRoot.getCurrentVersion();
+    }
+}
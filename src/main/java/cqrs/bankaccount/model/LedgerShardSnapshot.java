@@ -0,0 +1,49 @@
+package cqrs.bankaccount.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import cqrs.common.snapshot.IsSnapshotData;
+
+
+public class LedgerShardSnapshot implements IsSnapshotData {
+    private final UUID aggregateId;
+    private final UUID accountAggregateId;
+    private final String accountNumber;
+    private final int shardIndex;
+    private final BigDecimal pending;
+    private final int version;
+
+    public LedgerShardSnapshot(UUID aggregateId, UUID accountAggregateId, String accountNumber, int shardIndex, BigDecimal pending, int version) {
+        this.aggregateId = aggregateId;
+        this.accountAggregateId = accountAggregateId;
+        this.accountNumber = accountNumber;
+        this.shardIndex = shardIndex;
+        this.pending = pending;
+        this.version = version;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public UUID getAccountAggregateId() {
+        return accountAggregateId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public BigDecimal getPending() {
+        return pending;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+}
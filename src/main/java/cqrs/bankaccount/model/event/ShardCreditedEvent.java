@@ -0,0 +1,24 @@
+package cqrs.bankaccount.model.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import cqrs.common.Event;
+
+/**
+ * A credit to one sub-ledger of a hot account. {@code fromAccountNumber} is null for a deposit.
+ */
+public record ShardCreditedEvent(
+    UUID eventId,
+    UUID aggregateId,
+    UUID accountAggregateId,
+    String accountNumber,
+    int shardIndex,
+    BigDecimal amount,
+    String fromAccountNumber,
+    LocalDateTime timestamp,
+    int version
+) implements Event {
+
+}
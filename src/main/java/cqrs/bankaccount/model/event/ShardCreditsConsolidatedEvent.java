@@ -0,0 +1,20 @@
+package cqrs.bankaccount.model.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import cqrs.common.Event;
+
+/**
+ * Moves credits swept from a hot account's sub-ledgers into the account's own balance.
+ */
+public record ShardCreditsConsolidatedEvent(
+    UUID eventId,
+    UUID aggregateId,
+    BigDecimal amount,
+    LocalDateTime timestamp,
+    int version
+) implements Event {
+
+}
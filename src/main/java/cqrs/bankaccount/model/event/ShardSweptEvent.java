@@ -0,0 +1,18 @@
+package cqrs.bankaccount.model.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import cqrs.common.Event;
+
+public record ShardSweptEvent(
+    UUID eventId,
+    UUID aggregateId,
+    UUID accountAggregateId,
+    BigDecimal amount,
+    LocalDateTime timestamp,
+    int version
+) implements Event {
+
+}
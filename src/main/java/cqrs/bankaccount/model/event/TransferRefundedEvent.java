@@ -0,0 +1,23 @@
+package cqrs.bankaccount.model.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import cqrs.common.Event;
+
+/**
+ * Returns a transfer's debit to its source after the target could not be credited.
+ * {@code transferId} is the event id of the debit.
+ */
+public record TransferRefundedEvent(
+    UUID eventId,
+    UUID aggregateId,
+    UUID transferId,
+    String toAccountNumber,
+    BigDecimal amount,
+    LocalDateTime timestamp,
+    int version
+) implements Event {
+
+}
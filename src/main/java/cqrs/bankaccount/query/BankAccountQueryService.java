@@ -2,25 +2,62 @@ package cqrs.bankaccount.query;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.bankaccount.model.BankAccountSnapshot;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import cqrs.common.snapshot.SnapshotStore;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BankAccountQueryService {
     private final BankAccountViewRepository repository;
+    private final EventStore eventStore;
+    private final SnapshotStore<BankAccountSnapshot> snapshotStore;
+    private final ClosedPeriodBalanceCache balanceCache;
 
-    public UUID getAggregateIdByAccountNumber(String accountNumber) {
+    public BankAccountView getAccount(String accountNumber) {
         return repository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found"))
-                .getAggregateId();
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
     }
 
-    public boolean existsAggregateId(UUID aggregateId) {
-        return repository.existsByAggregateId(aggregateId);
+    public UUID getAggregateIdByAccountNumber(String accountNumber) {
+        return getAccount(accountNumber).getAggregateId();
     }
 
-    public boolean existsAccountNumber(String accountNumber) {
-        return repository.existsByAccountNumber(accountNumber);
+    /**
+     * Balance after every event that happened at or before {@code asOf}.
+     * Starts from the latest snapshot taken by then and replays only the events between it and {@code asOf}.
+     */
+    public BigDecimal balanceAsOf(String accountNumber, LocalDateTime asOf) {
+        UUID aggregateId = getAggregateIdByAccountNumber(accountNumber);
+        return balanceCache.get(aggregateId, asOf, () -> replayBalance(aggregateId, asOf));
+    }
+
+    private BigDecimal replayBalance(UUID aggregateId, LocalDateTime asOf) {
+        Optional<BankAccountSnapshot> snapshot = snapshotStore.findLatestAsOf(aggregateId, asOf, BankAccountSnapshot.class);
+        if (snapshot.isPresent()) {
+            BankAccount account = snapshot.get().toBankAccount();
+            account.replayEventsAfterSnapshot(eventStore.load(aggregateId, account.getCurrentVersion(), asOf));
+            return account.getBalance();
+        }
+        List<Event> events = eventStore.load(aggregateId, -1, asOf);
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("Account did not exist at " + asOf);
+        }
+        return BankAccount.loadFromHistory(aggregateId, events).getBalance();
+    }
+
+    public boolean existsAggregateId(UUID aggregateId) {
+        return repository.existsByAggregateId(aggregateId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package cqrs.bankaccount.query;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One statement line per account event. {@code amount} is signed, so {@code balanceAfter}
+ * is always the previous line's balance plus this line's amount.
+ */
+@Entity
+@Table(
+        name = "bank_account_transaction",
+        indexes = @Index(name = "idx_bank_account_transaction_account_occurred", columnList = "accountNumber, occurredAt, version"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_bank_account_transaction_aggregate_version", columnNames = {"aggregateId", "version"})
+)
+public class BankAccountTransaction {
+    @Id
+    private UUID eventId;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private int version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal balanceAfter;
+
+    private String counterpartyAccountNumber;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    protected BankAccountTransaction() {
+    }
+
+    public BankAccountTransaction(UUID eventId, UUID aggregateId, String accountNumber, int version, Type type,
+                                  BigDecimal amount, BigDecimal balanceAfter, String counterpartyAccountNumber,
+                                  LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.aggregateId = aggregateId;
+        this.accountNumber = accountNumber;
+        this.version = version;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.counterpartyAccountNumber = counterpartyAccountNumber;
+        this.occurredAt = occurredAt;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public String getCounterpartyAccountNumber() {
+        return counterpartyAccountNumber;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public enum Type {
+        OPENED, DEPOSIT, WITHDRAWAL, TRANSFER_IN, TRANSFER_OUT, TRANSFER_REFUND, SHARD_CREDITS
+    }
+}
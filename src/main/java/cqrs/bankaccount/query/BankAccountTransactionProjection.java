@@ -0,0 +1,89 @@
+package cqrs.bankaccount.query;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.bankaccount.model.event.MoneyDepositedEvent;
+import cqrs.bankaccount.model.event.MoneyTransferEvent;
+import cqrs.bankaccount.model.event.MoneyWithdrawnEvent;
+import cqrs.bankaccount.model.event.ShardCreditsConsolidatedEvent;
+import cqrs.bankaccount.model.event.TransferRefundedEvent;
+import cqrs.bankaccount.query.BankAccountTransaction.Type;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Appends a {@code bank_account_transaction} row per account event, carrying the running balance.
+ * The previous row is found by {@code (aggregateId, version)}, so each event costs one indexed lookup
+ * and one insert regardless of how long the account's history is.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BankAccountTransactionProjection {
+    private final BankAccountTransactionRepository repository;
+
+    @EventListener
+    public void on(AccountCreatedEvent event) {
+        repository.save(new BankAccountTransaction(event.eventId(), event.aggregateId(), event.accountNumber(), event.version(),
+                Type.OPENED, BigDecimal.ZERO, BigDecimal.ZERO, null, event.timestamp()));
+    }
+
+    @EventListener
+    public void on(MoneyDepositedEvent event) {
+        append(event.eventId(), event.aggregateId(), event.version(), Type.DEPOSIT, event.amount(), null, event.timestamp());
+    }
+
+    @EventListener
+    public void on(MoneyWithdrawnEvent event) {
+        append(event.eventId(), event.aggregateId(), event.version(), Type.WITHDRAWAL, event.amount().negate(), null, event.timestamp());
+    }
+
+    @EventListener
+    public void on(MoneyTransferEvent event) {
+        repository.findFirstByAggregateIdOrderByVersionDesc(event.aggregateId()).ifPresentOrElse(previous -> {
+            boolean outgoing = previous.getAccountNumber().equals(event.fromAccountNumber());
+            append(previous, event.eventId(), event.version(),
+                    outgoing ? Type.TRANSFER_OUT : Type.TRANSFER_IN,
+                    outgoing ? event.amount().negate() : event.amount(),
+                    outgoing ? event.toAccountNumber() : event.fromAccountNumber(),
+                    event.timestamp());
+        }, () -> missing(event.aggregateId()));
+    }
+
+    @EventListener
+    public void on(TransferRefundedEvent event) {
+        append(event.eventId(), event.aggregateId(), event.version(), Type.TRANSFER_REFUND, event.amount(), event.toAccountNumber(), event.timestamp());
+    }
+
+    /**
+     * A hot account's sub-ledger credits reach its statement as one line per consolidation, so the running balance
+     * stays the one its debits were decided against.
+     */
+    @EventListener
+    public void on(ShardCreditsConsolidatedEvent event) {
+        append(event.eventId(), event.aggregateId(), event.version(), Type.SHARD_CREDITS, event.amount(), null, event.timestamp());
+    }
+
+    private void append(UUID eventId, UUID aggregateId, int version, Type type, BigDecimal amount,
+                        String counterparty, LocalDateTime occurredAt) {
+        repository.findFirstByAggregateIdOrderByVersionDesc(aggregateId).ifPresentOrElse(
+                previous -> append(previous, eventId, version, type, amount, counterparty, occurredAt),
+                () -> missing(aggregateId));
+    }
+
+    private void append(BankAccountTransaction previous, UUID eventId, int version, Type type, BigDecimal amount,
+                        String counterparty, LocalDateTime occurredAt) {
+        repository.save(new BankAccountTransaction(eventId, previous.getAggregateId(), previous.getAccountNumber(), version,
+                type, amount, previous.getBalanceAfter().add(amount), counterparty, occurredAt));
+    }
+
+    private void missing(UUID aggregateId) {
+        log.warn("No bank_account_transaction history for aggregateId: {}", aggregateId);
+    }
+}
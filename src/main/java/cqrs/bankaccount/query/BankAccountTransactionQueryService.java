@@ -0,0 +1,43 @@
+package cqrs.bankaccount.query;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BankAccountTransactionQueryService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final BankAccountTransactionRepository repository;
+
+    /**
+     * Returns statement lines in {@code [from, to)} in chronological order, starting after {@code after}.
+     * Reads one extra row to decide whether another page exists.
+     */
+    public StatementPage getStatement(String accountNumber, LocalDateTime from, LocalDateTime to, StatementCursor after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        StatementCursor start = after != null ? after : new StatementCursor(from != null ? from : EARLIEST, -1);
+        if (from != null && start.occurredAt().isBefore(from)) {
+            start = new StatementCursor(from, -1);
+        }
+
+        List<BankAccountTransaction> rows = repository.findPage(accountNumber, start.occurredAt(), start.version(),
+                to != null ? to : LATEST, Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new StatementPage(rows, null);
+        }
+        List<BankAccountTransaction> page = rows.subList(0, size);
+        return new StatementPage(page, StatementCursor.after(page.get(size - 1)));
+    }
+}
@@ -0,0 +1,32 @@
+package cqrs.bankaccount.query;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BankAccountTransactionRepository extends JpaRepository<BankAccountTransaction, UUID> {
+    Optional<BankAccountTransaction> findFirstByAggregateIdOrderByVersionDesc(UUID aggregateId);
+
+    /**
+     * Keyset page over {@code (occurredAt, version)}: rows strictly after the cursor and before {@code to}.
+     * Served by the {@code (accountNumber, occurredAt, version)} index as a single range scan.
+     */
+    @Query("""
+            select t from BankAccountTransaction t
+            where t.accountNumber = :accountNumber
+              and t.occurredAt < :to
+              and (t.occurredAt > :afterOccurredAt or (t.occurredAt = :afterOccurredAt and t.version > :afterVersion))
+            order by t.occurredAt, t.version
+            """)
+    List<BankAccountTransaction> findPage(@Param("accountNumber") String accountNumber,
+                                          @Param("afterOccurredAt") LocalDateTime afterOccurredAt,
+                                          @Param("afterVersion") int afterVersion,
+                                          @Param("to") LocalDateTime to,
+                                          Limit limit);
+}
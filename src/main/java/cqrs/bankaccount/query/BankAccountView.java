@@ -4,33 +4,48 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "bank_account_view")
+@Table(
+        name = "bank_account_view",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bank_account_view_aggregate", columnNames = "aggregateId")
+)
 public class BankAccountView {
     @Id
     private String accountNumber;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private UUID aggregateId;
 
     @Column(nullable = false)
     private String accountHolder;
 
     @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal balance;
 
+    /**
+     * Version of the last event applied to this row.
+     */
+    @Column(nullable = false)
+    private int version;
+
     protected BankAccountView() {
     }
 
-    public BankAccountView(String accountNumber, UUID aggregateId, String accountHolder, BigDecimal balance) {
+    public BankAccountView(String accountNumber, UUID aggregateId, String accountHolder, UUID userId, BigDecimal balance, int version) {
         this.accountNumber = accountNumber;
         this.aggregateId = aggregateId;
         this.accountHolder = accountHolder;
+        this.userId = userId;
         this.balance = balance;
+        this.version = version;
     }
 
     public String getAccountNumber() {
@@ -45,10 +60,18 @@ public class BankAccountView {
         return accountHolder;
     }
 
+    public UUID getUserId() {
+        return userId;
+    }
+
     public BigDecimal getBalance() {
         return balance;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public void setBalance(BigDecimal balance) {
         this.balance = balance;
     }
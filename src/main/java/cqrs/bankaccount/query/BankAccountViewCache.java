@@ -0,0 +1,184 @@
+package cqrs.bankaccount.query;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import cqrs.bankaccount.model.event.MoneyDepositedEvent;
+import cqrs.bankaccount.model.event.MoneyTransferEvent;
+import cqrs.bankaccount.model.event.MoneyWithdrawnEvent;
+import cqrs.bankaccount.model.event.ShardCreditsConsolidatedEvent;
+import cqrs.bankaccount.model.event.TransferRefundedEvent;
+
+/**
+ * Cache of {@link BankAccountView}s by account number, each tagged with the aggregate version it reflects.
+ * A hit touches neither the database nor a transaction, and takes no lock.
+ * <p>
+ * Committed account events record the aggregate's version and evict entries older than it. A miss is only cached if
+ * its view is at least as new as the last version committed for that aggregate, so a read that raced a commit, or
+ * came from a replica that has not applied it yet, is returned but not kept. Each instance only sees its own
+ * commits, so entries also expire after {@code ttl}, which bounds staleness when several instances write. Once the
+ * cache holds more than {@code size} entries, the oldest are dropped.
+ */
+@Component
+public class BankAccountViewCache {
+    private final BankAccountQueryService queryService;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, Entry> views = new ConcurrentHashMap<>();
+    private final Map<UUID, String> accountNumbers = new ConcurrentHashMap<>();
+    private final Map<UUID, Committed> committedVersions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock trimming = new ReentrantLock();
+    private final AtomicLong lastTrim = new AtomicLong(System.nanoTime());
+
+    BankAccountViewCache(
+            BankAccountQueryService queryService,
+            @Value("${app.query.account-cache.size:10000}") int maxEntries,
+            @Value("${app.query.account-cache.ttl:PT30S}") Duration ttl
+    ) {
+        this.queryService = queryService;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public BankAccountView get(String accountNumber) {
+        Entry cached = views.get(accountNumber);
+        if (cached != null && System.nanoTime() - cached.cachedAt() < ttlNanos) {
+            return cached.view();
+        }
+        long readGeneration = generation.get();
+        BankAccountView view = queryService.getAccount(accountNumber);
+        put(accountNumber, view, readGeneration);
+        return view;
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        views.clear();
+        accountNumbers.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoneyDepositedEvent event) {
+        evict(event.aggregateId(), event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoneyWithdrawnEvent event) {
+        evict(event.aggregateId(), event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoneyTransferEvent event) {
+        evict(event.aggregateId(), event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TransferRefundedEvent event) {
+        evict(event.aggregateId(), event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ShardCreditsConsolidatedEvent event) {
+        evict(event.aggregateId(), event.version());
+    }
+
+    /**
+     * Runs under the key's lock in {@link #views}, as does the removal in {@link #evict}, so a commit either sees the
+     * new entry and removes it or is seen here and keeps the entry out.
+     */
+    private void put(String accountNumber, BankAccountView view, long readGeneration) {
+        UUID aggregateId = view.getAggregateId();
+        views.compute(accountNumber, (key, existing) -> {
+            if (generation.get() != readGeneration || view.getVersion() < committedVersion(aggregateId)) {
+                return existing;
+            }
+            if (existing != null && existing.view().getVersion() > view.getVersion()) {
+                return existing;
+            }
+            accountNumbers.put(aggregateId, accountNumber);
+            return new Entry(view, System.nanoTime());
+        });
+        if (views.size() > maxEntries) {
+            trim();
+        }
+    }
+
+    private void evict(UUID aggregateId, int version) {
+        committedVersions.merge(aggregateId, new Committed(version, System.nanoTime()),
+                (previous, latest) -> previous.version() >= latest.version() ? previous : latest);
+        String accountNumber = accountNumbers.get(aggregateId);
+        if (accountNumber != null) {
+            views.computeIfPresent(accountNumber, (key, cached) -> {
+                if (cached.view().getVersion() >= version) {
+                    return cached;
+                }
+                accountNumbers.remove(aggregateId, accountNumber);
+                return null;
+            });
+        }
+        if (committedVersions.size() > maxEntries && System.nanoTime() - lastTrim.get() >= ttlNanos / 2) {
+            trim();
+        }
+    }
+
+    private int committedVersion(UUID aggregateId) {
+        Committed committed = committedVersions.get(aggregateId);
+        return committed == null ? -1 : committed.version();
+    }
+
+    /**
+     * Drops expired entries and, if the cache is still over its size, the oldest of the rest until a tenth of it is
+     * free again. Committed versions are only needed while a read that predates them could still be in flight, so
+     * they go once they are older than {@code ttl}. One thread trims at a time; the others carry on.
+     */
+    private void trim() {
+        if (!trimming.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            lastTrim.set(now);
+            committedVersions.values().removeIf(committed -> now - committed.at() >= ttlNanos);
+            List<Map.Entry<String, Entry>> byAge = views.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().cachedAt()))
+                    .toList();
+            int excess = byAge.size() - (maxEntries - maxEntries / 10);
+            for (Map.Entry<String, Entry> entry : byAge) {
+                if (excess <= 0 && now - entry.getValue().cachedAt() < ttlNanos) {
+                    break;
+                }
+                remove(entry.getKey(), entry.getValue());
+                excess--;
+            }
+        } finally {
+            trimming.unlock();
+        }
+    }
+
+    private void remove(String accountNumber, Entry expected) {
+        views.computeIfPresent(accountNumber, (key, cached) -> {
+            if (cached != expected) {
+                return cached;
+            }
+            accountNumbers.remove(cached.view().getAggregateId(), accountNumber);
+            return null;
+        });
+    }
+
+    private record Entry(BankAccountView view, long cachedAt) {
+    }
+
+    private record Committed(int version, long at) {
+    }
+}
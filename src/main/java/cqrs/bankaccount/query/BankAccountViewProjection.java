@@ -0,0 +1,69 @@
+package cqrs.bankaccount.query;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.bankaccount.model.event.MoneyDepositedEvent;
+import cqrs.bankaccount.model.event.MoneyTransferEvent;
+import cqrs.bankaccount.model.event.MoneyWithdrawnEvent;
+import cqrs.bankaccount.model.event.ShardCreditsConsolidatedEvent;
+import cqrs.bankaccount.model.event.TransferRefundedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+
+/**
+ * Keeps {@code bank_account_view} in step with the event stream.
+ * Runs inside the appending transaction, so the view is never ahead of the events it reflects.
+ * Balance changes are applied as single UPDATE statements rather than read-modify-write,
+ * so concurrent appends to different accounts never contend on the view.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BankAccountViewProjection {
+    private final BankAccountViewRepository repository;
+
+    @EventListener
+    public void on(AccountCreatedEvent event) {
+        repository.save(new BankAccountView(event.accountNumber(), event.aggregateId(), event.accountHolder(), event.userId(), BigDecimal.ZERO, event.version()));
+    }
+
+    @EventListener
+    public void on(MoneyDepositedEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount(), event.version()));
+    }
+
+    @EventListener
+    public void on(MoneyWithdrawnEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount().negate(), event.version()));
+    }
+
+    @EventListener
+    public void on(MoneyTransferEvent event) {
+        updated(event.aggregateId().toString(),
+                repository.applyTransfer(event.aggregateId(), event.fromAccountNumber(), event.amount(), event.version()));
+    }
+
+    @EventListener
+    public void on(TransferRefundedEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount(), event.version()));
+    }
+
+    /**
+     * Sub-ledger credits reach the view once per sweep rather than one at a time, so a flood of credits to a hot
+     * account does not queue on its row.
+     */
+    @EventListener
+    public void on(ShardCreditsConsolidatedEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount(), event.version()));
+    }
+
+    private void updated(String aggregateId, int rows) {
+        if (rows == 0) {
+            log.warn("No bank_account_view row for aggregateId: {}", aggregateId);
+        }
+    }
+}
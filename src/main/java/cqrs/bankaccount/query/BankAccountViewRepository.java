@@ -1,14 +1,36 @@
 package cqrs.bankaccount.query;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface BankAccountViewRepository extends JpaRepository<BankAccountView, String> {
     Optional<BankAccountView> findByAccountNumber(String accountNumber);
 
     boolean existsByAggregateId(UUID aggregateId);
 
-    boolean existsByAccountNumber(String accountNumber);
-}
\ No newline at end of file
+    @Query("select v from BankAccountView v")
+    Stream<BankAccountView> streamAll();
+
+    @Modifying
+    @Query("update BankAccountView v set v.balance = v.balance + :delta, v.version = :version where v.aggregateId = :aggregateId")
+    int addToBalance(@Param("aggregateId") UUID aggregateId, @Param("delta") BigDecimal delta, @Param("version") int version);
+
+    @Modifying
+    @Query("""
+            update BankAccountView v
+            set v.balance = case when v.accountNumber = :fromAccountNumber then v.balance - :amount else v.balance + :amount end,
+                v.version = :version
+            where v.aggregateId = :aggregateId
+            """)
+    int applyTransfer(@Param("aggregateId") UUID aggregateId,
+                      @Param("fromAccountNumber") String fromAccountNumber,
+                      @Param("amount") BigDecimal amount,
+                      @Param("version") int version);
+}
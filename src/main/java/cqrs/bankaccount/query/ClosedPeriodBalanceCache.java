@@ -0,0 +1,52 @@
+package cqrs.bankaccount.query;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * LRU cache of point-in-time balances. Only instants older than {@code closed-after} are cached:
+ * by then no in-flight command can still append an event timestamped at or before them, so the answer is final.
+ */
+@Component
+class ClosedPeriodBalanceCache {
+    private final Duration closedAfter;
+    private final Map<Key, BigDecimal> balances;
+
+    ClosedPeriodBalanceCache(
+            @Value("${app.query.balance-as-of.closed-after:PT1M}") Duration closedAfter,
+            @Value("${app.query.balance-as-of.cache-size:10000}") int maxEntries
+    ) {
+        this.closedAfter = closedAfter;
+        this.balances = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, BigDecimal> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    BigDecimal get(UUID aggregateId, LocalDateTime asOf, Supplier<BigDecimal> compute) {
+        if (!asOf.isBefore(LocalDateTime.now().minus(closedAfter))) {
+            return compute.get();
+        }
+        Key key = new Key(aggregateId, asOf);
+        return Optional.ofNullable(balances.get(key)).orElseGet(() -> {
+            BigDecimal balance = compute.get();
+            balances.put(key, balance);
+            return balance;
+        });
+    }
+
+    private record Key(UUID aggregateId, LocalDateTime asOf) {
+    }
+}
@@ -0,0 +1,31 @@
+package cqrs.bankaccount.query;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position of the last statement line returned, serialized as {@code <occurredAt>_<version>}.
+ */
+public record StatementCursor(LocalDateTime occurredAt, int version) {
+
+    public static StatementCursor parse(String token) {
+        int separator = token.lastIndexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid statement cursor: " + token);
+        }
+        try {
+            return new StatementCursor(LocalDateTime.parse(token.substring(0, separator)), Integer.parseInt(token.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid statement cursor: " + token);
+        }
+    }
+
+    public static StatementCursor after(BankAccountTransaction transaction) {
+        return new StatementCursor(transaction.getOccurredAt(), transaction.getVersion());
+    }
+
+    @Override
+    public String toString() {
+        return occurredAt + "_" + version;
+    }
+}
@@ -0,0 +1,9 @@
+package cqrs.bankaccount.query;
+
+import java.util.List;
+
+/**
+ * {@code next} is null on the last page.
+ */
+public record StatementPage(List<BankAccountTransaction> transactions, StatementCursor next) {
+}
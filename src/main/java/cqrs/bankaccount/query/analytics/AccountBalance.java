@@ -0,0 +1,6 @@
+package cqrs.bankaccount.query.analytics;
+
+import java.math.BigDecimal;
+
+public record AccountBalance(String accountNumber, String accountHolder, BigDecimal balance) {
+}
@@ -0,0 +1,98 @@
+package cqrs.bankaccount.query.analytics;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.bankaccount.model.event.MoneyDepositedEvent;
+import cqrs.bankaccount.model.event.MoneyTransferEvent;
+import cqrs.bankaccount.model.event.MoneyWithdrawnEvent;
+import cqrs.bankaccount.model.event.ShardCreditsConsolidatedEvent;
+import cqrs.bankaccount.model.event.TransferRefundedEvent;
+import cqrs.bankaccount.query.BankAccountView;
+import cqrs.bankaccount.query.BankAccountViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enabled with {@code app.analytics.in-memory.enabled=true}. Seeds {@link BankAccountColumns} from
+ * {@code bank_account_view} at startup and then follows committed account events, so analytics queries
+ * never touch the database. Events only reach it after commit, so it never reflects a rolled-back change.
+ * Commands are already served while the seed runs; events at or below the version a seeded row was read at are
+ * skipped, since its balance already includes them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.analytics.in-memory", name = "enabled", havingValue = "true")
+public class BankAccountAnalytics {
+    private final BankAccountViewRepository repository;
+    private final BankAccountColumns columns = new BankAccountColumns();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<BankAccountView> views = repository.streamAll()) {
+            views.forEach(view -> columns.addAccount(
+                    view.getAggregateId(), view.getAccountNumber(), view.getAccountHolder(), view.getBalance(), view.getVersion()));
+        }
+        log.info("In-memory account analytics loaded. accounts={}", columns.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AccountCreatedEvent event) {
+        columns.addAccount(event.aggregateId(), event.accountNumber(), event.accountHolder(), BigDecimal.ZERO, event.version());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoneyDepositedEvent event) {
+        applied(event.aggregateId().toString(), columns.addToBalance(event.aggregateId(), event.amount(), event.version()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoneyWithdrawnEvent event) {
+        applied(event.aggregateId().toString(), columns.addToBalance(event.aggregateId(), event.amount().negate(), event.version()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(MoneyTransferEvent event) {
+        applied(event.aggregateId().toString(), columns.applyTransfer(event.aggregateId(), event.fromAccountNumber(), event.amount(), event.version()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TransferRefundedEvent event) {
+        applied(event.aggregateId().toString(), columns.addToBalance(event.aggregateId(), event.amount(), event.version()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ShardCreditsConsolidatedEvent event) {
+        applied(event.aggregateId().toString(), columns.addToBalance(event.aggregateId(), event.amount(), event.version()));
+    }
+
+    public Map<String, BigDecimal> sumOfBalancesByHolder() {
+        return columns.sumOfBalancesByHolder();
+    }
+
+    public List<AccountBalance> accountsOver(BigDecimal threshold) {
+        return columns.accountsOver(threshold);
+    }
+
+    public List<AccountBalance> topByBalance(int n) {
+        return columns.topByBalance(n);
+    }
+
+    private void applied(String aggregateId, boolean known) {
+        if (!known) {
+            log.warn("No in-memory analytics row for aggregateId: {}", aggregateId);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package cqrs.bankaccount.query.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the account read model. Each account gets a dense ordinal into parallel arrays;
+ * balances are kept as {@code long} units of 10^-{@value #SCALE} and holders as codes into a string dictionary,
+ * so aggregate queries are loops over primitive arrays with no entity or boxing overhead.
+ * Writers take the write lock for a single array update; queries share the read lock.
+ * <p>
+ * Each account remembers the version it was added at. Balance changes at or below it are already part of the
+ * balance it was added with and are skipped, so a row seeded from the read model is not credited twice by an
+ * event that committed before the seed read it.
+ */
+public class BankAccountColumns {
+    static final int SCALE = 4;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<String, Integer> holderCodes = new HashMap<>();
+    private final List<String> holders = new ArrayList<>();
+
+    private String[] accountNumbers = new String[INITIAL_CAPACITY];
+    private int[] holderOf = new int[INITIAL_CAPACITY];
+    private long[] balances = new long[INITIAL_CAPACITY];
+    private int[] addedAtVersion = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds an account whose {@code balance} includes every change up to {@code version}. Ignored if it is known.
+     */
+    public void addAccount(UUID aggregateId, String accountNumber, String accountHolder, BigDecimal balance, int version) {
+        lock.writeLock().lock();
+        try {
+            if (ordinals.containsKey(aggregateId)) {
+                return;
+            }
+            if (size == balances.length) {
+                int capacity = size * 2;
+                accountNumbers = Arrays.copyOf(accountNumbers, capacity);
+                holderOf = Arrays.copyOf(holderOf, capacity);
+                balances = Arrays.copyOf(balances, capacity);
+                addedAtVersion = Arrays.copyOf(addedAtVersion, capacity);
+            }
+            accountNumbers[size] = accountNumber;
+            holderOf[size] = holderCodes.computeIfAbsent(accountHolder, holder -> {
+                holders.add(holder);
+                return holders.size() - 1;
+            });
+            balances[size] = toUnits(balance);
+            addedAtVersion[size] = version;
+            ordinals.put(aggregateId, size++);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns false if the account is unknown.
+     */
+    public boolean addToBalance(UUID aggregateId, BigDecimal delta, int version) {
+        long units = toUnits(delta);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(aggregateId);
+            if (ordinal == null) {
+                return false;
+            }
+            if (version > addedAtVersion[ordinal]) {
+                balances[ordinal] += units;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a transfer event recorded on {@code aggregateId}: a debit if that account is the sender, otherwise a credit.
+     */
+    public boolean applyTransfer(UUID aggregateId, String fromAccountNumber, BigDecimal amount, int version) {
+        long units = toUnits(amount);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(aggregateId);
+            if (ordinal == null) {
+                return false;
+            }
+            if (version > addedAtVersion[ordinal]) {
+                balances[ordinal] += accountNumbers[ordinal].equals(fromAccountNumber) ? -units : units;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, BigDecimal> sumOfBalancesByHolder() {
+        lock.readLock().lock();
+        try {
+            long[] sums = new long[holders.size()];
+            for (int i = 0; i < size; i++) {
+                sums[holderOf[i]] += balances[i];
+            }
+            Map<String, BigDecimal> result = new LinkedHashMap<>(holders.size() * 2);
+            for (int code = 0; code < sums.length; code++) {
+                result.put(holders.get(code), fromUnits(sums[code]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<AccountBalance> accountsOver(BigDecimal threshold) {
+        long limit = toUnits(threshold);
+        lock.readLock().lock();
+        try {
+            List<AccountBalance> result = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (balances[i] > limit) {
+                    result.add(row(i));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Highest balances first. Keeps the best {@code n} ordinals in a sorted array while scanning,
+     * which is cheaper than sorting all accounts when {@code n} is small.
+     */
+    public List<AccountBalance> topByBalance(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            int[] top = new int[Math.min(n, size)];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (count == top.length && balances[i] <= balances[top[count - 1]]) {
+                    continue;
+                }
+                int position = count == top.length ? count - 1 : count++;
+                while (position > 0 && balances[top[position - 1]] < balances[i]) {
+                    top[position] = top[position - 1];
+                    position--;
+                }
+                top[position] = i;
+            }
+            List<AccountBalance> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(row(top[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private AccountBalance row(int ordinal) {
+        return new AccountBalance(accountNumbers[ordinal], holders.get(holderOf[ordinal]), fromUnits(balances[ordinal]));
+    }
+
+    private static long toUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+}
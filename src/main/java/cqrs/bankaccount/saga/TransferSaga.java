@@ -0,0 +1,88 @@
+package cqrs.bankaccount.saga;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of one transfer run as a saga. It is written with the source's debit, keyed by the debit's event id, and
+ * leaves {@code DEBITED} exactly once: to {@code CREDITED} with the target's credit, or to {@code REFUNDED} with the
+ * compensating refund to the source.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "transfer_saga", indexes = @Index(name = "idx_transfer_saga_status_updated", columnList = "status, updatedAt"))
+public class TransferSaga {
+
+    @Id
+    private UUID transferId;
+
+    @Column(nullable = false)
+    private UUID fromAggregateId;
+
+    @Column(nullable = false)
+    private String fromAccountNumber;
+
+    @Column(nullable = false)
+    private UUID toAggregateId;
+
+    @Column(nullable = false)
+    private String toAccountNumber;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * Failed attempts to credit the target.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 255)
+    private String failureReason;
+
+    /**
+     * Correlation of the transfer command, continued by the credit or refund.
+     */
+    private UUID correlationId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public TransferSaga(UUID transferId, UUID fromAggregateId, String fromAccountNumber, UUID toAggregateId,
+                        String toAccountNumber, BigDecimal amount, UUID correlationId, LocalDateTime createdAt) {
+        this.transferId = transferId;
+        this.fromAggregateId = fromAggregateId;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAggregateId = toAggregateId;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.correlationId = correlationId;
+        this.status = Status.DEBITED;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public enum Status {
+        DEBITED, CREDITED, REFUNDED
+    }
+}
@@ -0,0 +1,9 @@
+package cqrs.bankaccount.saga;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TransferSagaProperties.class)
+public class TransferSagaConfiguration {
+}
@@ -0,0 +1,146 @@
+package cqrs.bankaccount.saga;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.model.event.MoneyTransferEvent;
+import cqrs.bankaccount.saga.TransferSaga.Status;
+import cqrs.common.tracing.Correlation;
+import cqrs.common.tracing.CorrelationContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives transfer sagas past their debit. Once a debit commits, the credit to the target runs on a virtual thread
+ * in a transaction of its own. Losing a race on the target's stream is retried; any other failure, or running out
+ * of attempts, refunds the source instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.transfer-saga", name = "enabled", havingValue = "true")
+public class TransferSagaProcessor {
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private final BankAccountCommandService commandService;
+    private final TransferSagaRepository sagas;
+    private final TransferSagaProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    TransferSagaProcessor(BankAccountCommandService commandService, TransferSagaRepository sagas, TransferSagaProperties properties) {
+        this.commandService = commandService;
+        this.sagas = sagas;
+        this.properties = properties;
+    }
+
+    /**
+     * Both halves of a transfer publish a {@link MoneyTransferEvent}; only a debit has a saga under its event id.
+     */
+    @TransactionalEventListener
+    public void on(MoneyTransferEvent event) {
+        executor.execute(() -> {
+            try {
+                advance(event.eventId());
+            } catch (RuntimeException e) {
+                // Still DEBITED, so recovery tries again.
+                log.warn("Transfer saga could not advance. transferId={}", event.eventId(), e);
+            }
+        });
+    }
+
+    /**
+     * Settles a saga under the correlation of the transfer that started it; the listener and recovery both call this
+     * from threads that carry no correlation of their own.
+     */
+    void advance(UUID transferId) {
+        Optional<TransferSaga> saga = sagas.findById(transferId);
+        if (saga.isEmpty()) {
+            return;
+        }
+        UUID correlationId = Optional.ofNullable(saga.get().getCorrelationId()).orElse(transferId);
+        CorrelationContext.callWith(new Correlation(correlationId, transferId), () -> {
+            settle(transferId);
+            return null;
+        });
+    }
+
+    private void settle(UUID transferId) {
+        while (true) {
+            Optional<TransferSaga> saga = sagas.findById(transferId);
+            if (saga.isEmpty() || saga.get().getStatus() != Status.DEBITED) {
+                return;
+            }
+            if (saga.get().getAttempts() >= properties.maxAttempts()) {
+                refund(transferId, saga.get().getFailureReason());
+                return;
+            }
+            try {
+                commandService.creditTransfer(transferId);
+                return;
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                // Without the attempt recorded the loop could not run out of attempts, so leave it to recovery.
+                if (!recordFailure(transferId, "Concurrent modification of the target") || !backOff()) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                String reason = failureReason(e);
+                log.warn("Transfer credit failed, refunding. transferId={}, reason={}", transferId, reason);
+                recordFailure(transferId, reason);
+                refund(transferId, reason);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fits an exception into {@code transfer_saga.failure_reason}: its message, or its type when it has none, cut to
+     * the column's length.
+     */
+    static String failureReason(RuntimeException e) {
+        String message = e.getMessage() == null || e.getMessage().isBlank() ? e.getClass().getSimpleName() : e.getMessage();
+        return message.length() <= MAX_REASON_LENGTH ? message : message.substring(0, MAX_REASON_LENGTH);
+    }
+
+    private boolean recordFailure(UUID transferId, String reason) {
+        try {
+            sagas.recordFailure(transferId, reason, LocalDateTime.now());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Recording transfer failure failed. transferId={}, reason={}", transferId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void refund(UUID transferId, String reason) {
+        try {
+            commandService.refundTransfer(transferId, reason);
+        } catch (RuntimeException e) {
+            // Still DEBITED, so recovery tries again.
+            log.warn("Transfer refund failed. transferId={}, reason={}", transferId, e.getMessage());
+        }
+    }
+
+    private boolean backOff() {
+        try {
+            Thread.sleep(properties.retryBackoff());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+}
@@ -0,0 +1,22 @@
+package cqrs.bankaccount.saga;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * A credit that fails {@code maxAttempts} times, or fails for a reason retrying cannot fix, is compensated by
+ * refunding the source. Sagas left in {@code DEBITED} for {@code recoverAfter}, for example by a restart, are
+ * resumed every {@code recoveryInterval}.
+ */
+@ConfigurationProperties("app.transfer-saga")
+public record TransferSagaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("PT0.05S") Duration retryBackoff,
+        @DefaultValue("PT1M") Duration recoverAfter,
+        @DefaultValue("PT30S") Duration recoveryInterval,
+        @DefaultValue("1000") int recoveryBatchSize
+) {
+}
@@ -0,0 +1,40 @@
+package cqrs.bankaccount.saga;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import cqrs.bankaccount.saga.TransferSaga.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enabled with {@code app.transfer-saga.enabled=true}; resumes sagas whose debit committed but whose credit never
+ * finished, such as those in flight when a node stopped.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.transfer-saga", name = "enabled", havingValue = "true")
+public class TransferSagaRecovery {
+    private final TransferSagaProcessor processor;
+    private final TransferSagaRepository sagas;
+    private final TransferSagaProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.transfer-saga.recovery-interval:PT30S}")
+    public void recover() {
+        List<UUID> stalled = sagas.findStalled(Status.DEBITED, LocalDateTime.now().minus(properties.recoverAfter()),
+                Limit.of(properties.recoveryBatchSize()));
+        if (!stalled.isEmpty()) {
+            log.info("Resuming stalled transfer sagas. count={}", stalled.size());
+        }
+        stalled.forEach(processor::advance);
+    }
+}
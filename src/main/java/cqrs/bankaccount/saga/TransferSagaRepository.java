@@ -0,0 +1,39 @@
+package cqrs.bankaccount.saga;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import cqrs.bankaccount.saga.TransferSaga.Status;
+
+public interface TransferSagaRepository extends JpaRepository<TransferSaga, UUID> {
+
+    /**
+     * Moves a saga out of {@code DEBITED}. The row lock taken here serializes two steps racing on the same saga;
+     * the one that finds it already settled updates nothing and must roll back.
+     */
+    @Modifying
+    @Query("""
+            update TransferSaga s set s.status = :status, s.updatedAt = :at
+            where s.transferId = :transferId and s.status = cqrs.bankaccount.saga.TransferSaga.Status.DEBITED
+            """)
+    int settle(@Param("transferId") UUID transferId, @Param("status") Status status, @Param("at") LocalDateTime at);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update TransferSaga s set s.attempts = s.attempts + 1, s.failureReason = :reason, s.updatedAt = :at
+            where s.transferId = :transferId
+            """)
+    int recordFailure(@Param("transferId") UUID transferId, @Param("reason") String reason, @Param("at") LocalDateTime at);
+
+    @Query("select s.transferId from TransferSaga s where s.status = :status and s.updatedAt < :before order by s.updatedAt")
+    List<UUID> findStalled(@Param("status") Status status, @Param("before") LocalDateTime before, Limit limit);
+}
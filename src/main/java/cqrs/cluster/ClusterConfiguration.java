@@ -0,0 +1,47 @@
+package cqrs.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.bankaccount.query.BankAccountViewCache;
+
+/**
+ * Enabled with {@code app.cluster.enabled=true}. Every node runs the same configuration apart from
+ * {@code app.cluster.node-id}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ClusterProperties.class)
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+    @Bean
+    ClusterMembership clusterMembership(ClusterProperties properties, ApplicationEventPublisher eventPublisher) {
+        return new ClusterMembership(properties, clusterRestClient(properties), eventPublisher);
+    }
+
+    @Bean
+    FilterRegistrationBean<CommandRoutingFilter> commandRoutingFilter(ClusterProperties properties, ClusterMembership membership,
+                                                                     BankAccountViewCache viewCache, ObjectMapper objectMapper) {
+        FilterRegistrationBean<CommandRoutingFilter> registration = new FilterRegistrationBean<>(
+                new CommandRoutingFilter(membership, viewCache, clusterRestClient(properties), objectMapper));
+        registration.addUrlPatterns("/api/accounts/*");
+        return registration;
+    }
+
+    private static RestClient clusterRestClient(ClusterProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.forwardTimeout());
+        requestFactory.setReadTimeout(properties.forwardTimeout());
+        return RestClient.builder().requestFactory(requestFactory).build();
+    }
+}
@@ -0,0 +1,21 @@
+package cqrs.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/internal/cluster")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class ClusterController {
+    private final ClusterMembership membership;
+
+    @GetMapping("/ping")
+    public String ping() {
+        return membership.localNodeId();
+    }
+}
@@ -0,0 +1,96 @@
+package cqrs.cluster;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import cqrs.cluster.ClusterProperties.Member;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks which members answer heartbeats and keeps the ring over the live ones. Every member starts out live,
+ * so routing works as soon as the nodes are up.
+ */
+@Slf4j
+public class ClusterMembership {
+    private final ClusterProperties properties;
+    private final RestClient restClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Member> members = new HashMap<>();
+    private final Map<String, Integer> missedHeartbeats = new HashMap<>();
+    private volatile Set<String> live;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterProperties properties, RestClient restClient, ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.restClient = restClient;
+        this.eventPublisher = eventPublisher;
+        properties.members().forEach(member -> members.put(member.id(), member));
+        this.live = Set.copyOf(members.keySet());
+        this.ring = ConsistentHashRing.of(live, properties.virtualNodes());
+    }
+
+    public Member owner(UUID aggregateId) {
+        return members.get(ring.owner(aggregateId));
+    }
+
+    public boolean isLocal(Member member) {
+        return member.id().equals(properties.nodeId());
+    }
+
+    public String localNodeId() {
+        return properties.nodeId();
+    }
+
+    /**
+     * Takes a member out of the ring right away, e.g. after a failed forward, instead of waiting for heartbeats.
+     */
+    public synchronized void suspect(Member member) {
+        missedHeartbeats.put(member.id(), properties.failureThreshold());
+        update();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.heartbeat-interval:PT2S}")
+    public void heartbeat() {
+        for (Member member : members.values()) {
+            if (isLocal(member)) {
+                continue;
+            }
+            boolean alive;
+            try {
+                alive = member.id().equals(restClient.get().uri(member.url().resolve("/internal/cluster/ping")).retrieve().body(String.class));
+            } catch (RestClientException e) {
+                alive = false;
+            }
+            synchronized (this) {
+                missedHeartbeats.put(member.id(), alive ? 0 : missedHeartbeats.getOrDefault(member.id(), 0) + 1);
+            }
+        }
+        synchronized (this) {
+            update();
+        }
+    }
+
+    private void update() {
+        Set<String> nowLive = new LinkedHashSet<>();
+        for (String id : members.keySet()) {
+            if (missedHeartbeats.getOrDefault(id, 0) < properties.failureThreshold()) {
+                nowLive.add(id);
+            }
+        }
+        if (nowLive.equals(live)) {
+            return;
+        }
+        log.warn("Cluster membership changed: {} -> {}", live, nowLive);
+        live = Set.copyOf(nowLive);
+        ring = ConsistentHashRing.of(live, properties.virtualNodes());
+        eventPublisher.publishEvent(new ClusterTopologyChangedEvent(live));
+    }
+}
@@ -0,0 +1,33 @@
+package cqrs.cluster;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * {@code members} lists every node, this one included, by id and base URL. Membership is static; liveness is not.
+ * A member that misses {@code failureThreshold} heartbeats in a row leaves the ring until it answers again.
+ */
+@ConfigurationProperties("app.cluster")
+public record ClusterProperties(
+        @DefaultValue("false") boolean enabled,
+        String nodeId,
+        @DefaultValue List<Member> members,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("PT2S") Duration heartbeatInterval,
+        @DefaultValue("3") int failureThreshold,
+        @DefaultValue("PT2S") Duration forwardTimeout
+) {
+
+    public ClusterProperties {
+        if (enabled && members.stream().noneMatch(member -> member.id().equals(nodeId))) {
+            throw new IllegalArgumentException("app.cluster.node-id must be one of app.cluster.members: " + nodeId);
+        }
+    }
+
+    public record Member(String id, URI url) {
+    }
+}
@@ -0,0 +1,9 @@
+package cqrs.cluster;
+
+import java.util.Set;
+
+/**
+ * Published when a member leaves or rejoins the ring. Aggregates owned by this node before and after may differ.
+ */
+public record ClusterTopologyChangedEvent(Set<String> liveNodeIds) {
+}
@@ -0,0 +1,229 @@
+package cqrs.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.bankaccount.query.BankAccountViewCache;
+import cqrs.cluster.ClusterProperties.Member;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends each account command to the node that owns the account's aggregate on the ring: deposits and withdrawals by
+ * their path account, transfers by the debited account. Creates run wherever they arrive.
+ * <p>
+ * A forwarded request carries {@value #FORWARDED_HEADER} and always runs where it lands, so a disagreement between
+ * two nodes' rings costs at most one extra hop. If the owner refuses the connection it is suspected and the command
+ * runs locally; it is then only not single-writer. Any other failure, such as a read timeout, may come after the
+ * owner has committed the command, and running it again would append it a second time at the next version. Such a
+ * command only runs locally if it carries an {@value #IDEMPOTENCY_KEY}, which makes the local run return the owner's
+ * result; otherwise the caller gets {@code 504 Gateway Timeout} and decides whether to retry.
+ */
+@Slf4j
+public class CommandRoutingFilter extends OncePerRequestFilter {
+    static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+    static final String NODE_HEADER = "X-Cluster-Node";
+    private static final Pattern ACCOUNT_COMMAND = Pattern.compile("^/api/accounts/([^/]+)/(deposits|withdrawals)$");
+    private static final String TRANSFERS = "/api/accounts/transfers";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final ClusterMembership membership;
+    private final BankAccountViewCache viewCache;
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public CommandRoutingFilter(ClusterMembership membership, BankAccountViewCache viewCache, RestClient restClient,
+                                ObjectMapper objectMapper) {
+        this.membership = membership;
+        this.viewCache = viewCache;
+        this.restClient = restClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(FORWARDED_HEADER) != null) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !path.equals(TRANSFERS) && !ACCOUNT_COMMAND.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpServletRequest replayable = new CachedBodyRequest(request, body);
+
+        Optional<Member> owner = accountNumber(request.getRequestURI(), body)
+                .flatMap(this::aggregateId)
+                .map(membership::owner);
+        if (owner.isEmpty() || membership.isLocal(owner.get())) {
+            response.setHeader(NODE_HEADER, membership.localNodeId());
+            chain.doFilter(replayable, response);
+            return;
+        }
+        try {
+            forward(owner.get(), request, body, response);
+        } catch (RestClientException e) {
+            boolean unreachable = isConnectionFailure(e);
+            if (!unreachable && request.getHeader(IDEMPOTENCY_KEY) == null) {
+                log.warn("Forward to node {} failed after the command may have run, not retrying it locally", owner.get().id(), e);
+                rejectUnknownOutcome(owner.get(), response);
+                return;
+            }
+            log.warn("Forward to node {} failed, running command locally", owner.get().id(), e);
+            if (unreachable) {
+                membership.suspect(owner.get());
+            }
+            response.setHeader(NODE_HEADER, membership.localNodeId());
+            chain.doFilter(replayable, response);
+        }
+    }
+
+    /**
+     * True if the request never reached the owner, so it cannot have run there.
+     */
+    private static boolean isConnectionFailure(RestClientException e) {
+        return e instanceof ResourceAccessException
+                && (e.getCause() instanceof ConnectException || e.getCause() instanceof UnknownHostException);
+    }
+
+    private void rejectUnknownOutcome(Member owner, HttpServletResponse response) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.GATEWAY_TIMEOUT,
+                "Node " + owner.id() + " did not answer; the command may or may not have been applied");
+        response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private void forward(Member owner, HttpServletRequest request, byte[] body, HttpServletResponse response) {
+        RestClient.RequestBodySpec forwarded = restClient.post()
+                .uri(owner.url().resolve(request.getRequestURI()))
+                .header(FORWARDED_HEADER, membership.localNodeId())
+                .contentType(MediaType.APPLICATION_JSON);
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey != null) {
+            forwarded.header(IDEMPOTENCY_KEY, idempotencyKey);
+        }
+        forwarded.body(body).exchange((req, res) -> {
+            response.setStatus(res.getStatusCode().value());
+            copyHeader(res.getHeaders(), response, HttpHeaders.CONTENT_TYPE);
+            copyHeader(res.getHeaders(), response, NODE_HEADER);
+            res.getBody().transferTo(response.getOutputStream());
+            return null;
+        });
+    }
+
+    private static void copyHeader(HttpHeaders from, HttpServletResponse to, String name) {
+        String value = from.getFirst(name);
+        if (value != null) {
+            to.setHeader(name, value);
+        }
+    }
+
+    private Optional<String> accountNumber(String path, byte[] body) {
+        Matcher matcher = ACCOUNT_COMMAND.matcher(path);
+        if (matcher.matches()) {
+            return Optional.of(matcher.group(1));
+        }
+        try {
+            JsonNode from = objectMapper.readTree(body).get("fromAccountNumber");
+            return from == null || !from.isTextual() ? Optional.empty() : Optional.of(from.asText());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Account numbers never move between aggregates, so the view cache answers this without the database.
+     * Unknown accounts run locally, where the controller rejects them as usual.
+     */
+    private Optional<UUID> aggregateId(String accountNumber) {
+        try {
+            return Optional.of(viewCache.get(accountNumber).getAggregateId());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory and always ready, so the listener is called right away: with
+                 * {@code onDataAvailable} until it has read everything, then with {@code onAllDataRead}.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        while (!isFinished()) {
+                            int remaining = in.available();
+                            listener.onDataAvailable();
+                            if (in.available() == remaining) {
+                                // The listener stopped reading; nothing will arrive to wake it up again.
+                                return;
+                            }
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cqrs.cluster;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Immutable consistent-hash ring with {@code virtualNodes} points per node. Adding or removing a node only moves
+ * the aggregates between it and its ring neighbours, about {@code 1/n} of them.
+ */
+public final class ConsistentHashRing {
+    private final NavigableMap<Long, String> points;
+
+    private ConsistentHashRing(NavigableMap<Long, String> points) {
+        this.points = points;
+    }
+
+    public static ConsistentHashRing of(Collection<String> nodeIds, int virtualNodes) {
+        NavigableMap<Long, String> points = new TreeMap<>();
+        for (String nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash((nodeId + "#" + i).getBytes(StandardCharsets.UTF_8)), nodeId);
+            }
+        }
+        return new ConsistentHashRing(points);
+    }
+
+    public String owner(UUID aggregateId) {
+        if (points.isEmpty()) {
+            throw new IllegalStateException("No live cluster members");
+        }
+        ByteBuffer key = ByteBuffer.allocate(16)
+                .putLong(aggregateId.getMostSignificantBits())
+                .putLong(aggregateId.getLeastSignificantBits());
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key.array()));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    private static long hash(byte[] key) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("MD5").digest(key)).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
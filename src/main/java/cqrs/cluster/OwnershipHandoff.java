@@ -0,0 +1,27 @@
+package cqrs.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import cqrs.bankaccount.query.BankAccountViewCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * While a node owns an account, every commit to it happens locally, so its cached view is always current. Accounts
+ * gained in a topology change may have been written elsewhere in the meantime, so the cache starts over.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true")
+public class OwnershipHandoff {
+    private final BankAccountViewCache viewCache;
+
+    @EventListener
+    public void on(ClusterTopologyChangedEvent event) {
+        viewCache.clear();
+        log.info("Account ownership rebalanced over {}", event.liveNodeIds());
+    }
+}
@@ -0,0 +1,17 @@
+package cqrs.common;
+
+import java.util.List;
+import java.util.Optional;
+
+import cqrs.common.snapshot.IsSnapshotData;
+
+/**
+ * What it takes to rebuild an aggregate: its latest snapshot, if any, and the events after it. Without a snapshot
+ * {@code events} is the whole stream.
+ */
+public record AggregateHistory<T extends IsSnapshotData>(Optional<T> snapshot, List<Event> events) {
+
+    public boolean isEmpty() {
+        return snapshot.isEmpty() && events.isEmpty();
+    }
+}
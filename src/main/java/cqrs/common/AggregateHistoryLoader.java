@@ -0,0 +1,25 @@
+package cqrs.common;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.common.snapshot.SnapshotStore;
+
+@FunctionalInterface
+public interface AggregateHistoryLoader<T extends IsSnapshotData> {
+
+    AggregateHistory<T> load(UUID aggregateId, Class<T> snapshotType);
+
+    /**
+     * Reads the snapshot and then the events after it, one store at a time.
+     */
+    static <T extends IsSnapshotData> AggregateHistoryLoader<T> sequential(SnapshotStore<T> snapshotStore, EventStore eventStore) {
+        return (aggregateId, snapshotType) -> {
+            Optional<T> snapshot = snapshotStore.findLatest(aggregateId, snapshotType);
+            return new AggregateHistory<>(snapshot, snapshot
+                    .map(s -> eventStore.load(aggregateId, s.getVersion()))
+                    .orElseGet(() -> eventStore.load(aggregateId)));
+        };
+    }
+}
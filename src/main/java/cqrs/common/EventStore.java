@@ -1,12 +1,34 @@
 package cqrs.common;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface EventStore {
     void save(UUID aggregateId, Event event);
 
+    void saveAll(UUID aggregateId, List<Event> events);
+
     List<Event> load(UUID aggregateId);
 
     List<Event> load(UUID aggregateId, int afterVersion);
+
+    List<Event> load(UUID aggregateId, int afterVersion, LocalDateTime until);
+
+    /**
+     * Events after each aggregate's version in {@code afterVersions}, keyed by aggregate id. Every requested aggregate
+     * has an entry, empty if it has no such events.
+     */
+    Map<UUID, List<Event>> loadMany(Map<UUID, Integer> afterVersions);
+
+    default Map<UUID, List<Event>> loadMany(Collection<UUID> aggregateIds) {
+        Map<UUID, Integer> afterVersions = new LinkedHashMap<>();
+        for (UUID aggregateId : aggregateIds) {
+            afterVersions.put(aggregateId, -1);
+        }
+        return loadMany(afterVersions);
+    }
 }
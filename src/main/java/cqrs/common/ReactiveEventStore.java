@@ -0,0 +1,19 @@
+package cqrs.common;
+
+import java.util.List;
+import java.util.UUID;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EventStore}. Appends do not publish the events; callers hand them to the
+ * projections once the surrounding reactive transaction has committed.
+ */
+public interface ReactiveEventStore {
+    Mono<Void> saveAll(UUID aggregateId, List<Event> events);
+
+    Flux<Event> load(UUID aggregateId);
+
+    Flux<Event> load(UUID aggregateId, int afterVersion);
+}
@@ -0,0 +1,24 @@
+package cqrs.common.idempotency;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Remembers which idempotency keys have been processed, the aggregate version they produced and their result,
+ * so a retried command can be answered without reloading or touching its aggregate. Keys are scoped by command:
+ * the same key sent with a different command is a different request.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Must run in the command's transaction, before the command does anything. Returns the stored result if the key
+     * was already processed; otherwise claims it for this transaction and returns empty. A claim held by a
+     * transaction still in flight makes this wait until that transaction ends.
+     */
+    <T> Optional<T> claim(String command, String idempotencyKey, Class<T> resultType);
+
+    /**
+     * Stores the result under a key this transaction has claimed.
+     */
+    void record(String command, String idempotencyKey, UUID aggregateId, int aggregateVersion, Object result);
+}
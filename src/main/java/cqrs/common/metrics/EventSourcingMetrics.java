@@ -0,0 +1,130 @@
+package cqrs.common.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters for the command, event store and snapshot paths.
+ * <p>
+ * Every meter is registered once with its full tag set and then reused, so recording never allocates tags.
+ * Callers time with {@link System#nanoTime()} instead of {@code Timer.Sample} for the same reason.
+ * With {@code app.metrics.low-overhead=true} percentile histograms are not published and payload sizes are not recorded.
+ */
+@Component
+public class EventSourcingMetrics {
+    private final MeterRegistry registry;
+    private final boolean lowOverhead;
+    private final Map<String, CommandMeters> commandMeters = new ConcurrentHashMap<>();
+
+    private final Timer appendTimer;
+    private final DistributionSummary appendBatchSize;
+    private final DistributionSummary eventPayloadSize;
+    private final Timer snapshotLoadTimer;
+    private final Timer historyLoadTimer;
+    private final DistributionSummary snapshotReplayedEvents;
+    private final DistributionSummary historyReplayedEvents;
+    private final Counter snapshotHits;
+    private final Counter snapshotMisses;
+    private final Counter snapshotDeserializeFailures;
+    private final DistributionSummary snapshotPayloadSize;
+
+    public EventSourcingMetrics(MeterRegistry registry, @Value("${app.metrics.low-overhead:false}") boolean lowOverhead) {
+        this.registry = registry;
+        this.lowOverhead = lowOverhead;
+
+        this.appendTimer = timer("es.eventstore.append").register(registry);
+        this.appendBatchSize = summary("es.eventstore.append.batch.size", "events").register(registry);
+        this.eventPayloadSize = summary("es.eventstore.payload.size", "bytes").register(registry);
+        this.snapshotLoadTimer = timer("es.aggregate.load").tag("source", "snapshot").register(registry);
+        this.historyLoadTimer = timer("es.aggregate.load").tag("source", "history").register(registry);
+        this.snapshotReplayedEvents = summary("es.aggregate.replay.events", "events").tag("source", "snapshot").register(registry);
+        this.historyReplayedEvents = summary("es.aggregate.replay.events", "events").tag("source", "history").register(registry);
+        this.snapshotHits = Counter.builder("es.snapshot.lookups").tag("result", "hit").register(registry);
+        this.snapshotMisses = Counter.builder("es.snapshot.lookups").tag("result", "miss").register(registry);
+        this.snapshotDeserializeFailures = Counter.builder("es.snapshot.lookups").tag("result", "deserialize_failure").register(registry);
+        this.snapshotPayloadSize = summary("es.snapshot.payload.size", "bytes").register(registry);
+    }
+
+    public CommandMeters command(String command) {
+        return commandMeters.computeIfAbsent(command, CommandMeters::new);
+    }
+
+    public void recordAppend(long startNanos, int batchSize) {
+        appendTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        appendBatchSize.record(batchSize);
+    }
+
+    public void recordEventPayload(String payload) {
+        if (!lowOverhead) {
+            eventPayloadSize.record(payload.length());
+        }
+    }
+
+    public void recordAggregateLoad(long startNanos, boolean fromSnapshot, int replayedEvents) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (fromSnapshot) {
+            snapshotLoadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            snapshotReplayedEvents.record(replayedEvents);
+        } else {
+            historyLoadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            historyReplayedEvents.record(replayedEvents);
+        }
+    }
+
+    public void snapshotHit() {
+        snapshotHits.increment();
+    }
+
+    public void snapshotMiss() {
+        snapshotMisses.increment();
+    }
+
+    public void snapshotDeserializeFailure() {
+        snapshotDeserializeFailures.increment();
+    }
+
+    public void recordSnapshotPayload(String payload) {
+        if (!lowOverhead) {
+            snapshotPayloadSize.record(payload.length());
+        }
+    }
+
+    public long snapshotHitCount() {
+        return (long) snapshotHits.count();
+    }
+
+    public long snapshotMissCount() {
+        return (long) snapshotMisses.count();
+    }
+
+    private Timer.Builder timer(String name) {
+        return Timer.builder(name).publishPercentileHistogram(!lowOverhead);
+    }
+
+    private DistributionSummary.Builder summary(String name, String baseUnit) {
+        return DistributionSummary.builder(name).baseUnit(baseUnit).publishPercentileHistogram(!lowOverhead);
+    }
+
+    public class CommandMeters {
+        private final Timer success;
+        private final Timer failure;
+
+        private CommandMeters(String command) {
+            this.success = timer("es.command").tag("command", command).tag("outcome", "success").register(registry);
+            this.failure = timer("es.command").tag("command", command).tag("outcome", "failure").register(registry);
+        }
+
+        public void record(long startNanos, boolean succeeded) {
+            (succeeded ? success : failure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
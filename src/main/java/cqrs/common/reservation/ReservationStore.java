@@ -0,0 +1,17 @@
+package cqrs.common.reservation;
+
+import java.util.UUID;
+
+/**
+ * Claims values that must stay unique across aggregates, such as account numbers. A value is claimed for good by
+ * the aggregate that first reserves it.
+ */
+public interface ReservationStore {
+
+    /**
+     * Must run in the command's transaction, so the claim commits or rolls back with the command's events.
+     * Returns false if the value is already claimed, including by a transaction that has not committed yet; the
+     * caller must then fail the command, as some databases cannot continue a transaction after the rejected claim.
+     */
+    boolean reserve(String scope, String value, UUID ownerId);
+}
@@ -0,0 +1,12 @@
+package cqrs.common.snapshot;
+
+import java.util.UUID;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSnapshotStore<T extends IsSnapshotData> {
+
+    Mono<T> findLatest(UUID aggregateId, Class<T> snapshotType);
+
+    Mono<Void> save(T snapshot);
+}
@@ -0,0 +1,17 @@
+package cqrs.common.snapshot;
+
+import java.util.List;
+import java.util.UUID;
+
+import cqrs.common.Event;
+
+/**
+ * Builds a snapshot of one aggregate type from its full history, for tools that write events
+ * without going through the aggregate's command service.
+ */
+public interface SnapshotFactory {
+
+    boolean supports(Event firstEvent);
+
+    IsSnapshotData fromHistory(UUID aggregateId, List<Event> events);
+}
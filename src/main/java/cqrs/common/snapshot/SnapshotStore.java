@@ -1,5 +1,8 @@
 package cqrs.common.snapshot;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -7,5 +10,15 @@ public interface SnapshotStore<T extends IsSnapshotData> {
 
     Optional<T> findLatest(UUID aggregateId, Class<T> snapshotType);
 
+    /**
+     * Latest snapshot taken at or before {@code asOf}. Every event it covers happened no later than {@code asOf}.
+     */
+    Optional<T> findLatestAsOf(UUID aggregateId, LocalDateTime asOf, Class<T> snapshotType);
+
+    /**
+     * Latest snapshot of each aggregate that has one, keyed by aggregate id.
+     */
+    Map<UUID, T> loadMany(Collection<UUID> aggregateIds, Class<T> snapshotType);
+
     void save(T snapshot);
 }
\ No newline at end of file
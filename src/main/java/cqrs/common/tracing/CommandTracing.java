@@ -0,0 +1,49 @@
+package cqrs.common.tracing;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Wraps command handling and its phases in Micrometer observations, which the tracing bridge turns into spans.
+ * Span sampling is controlled by {@code management.tracing.sampling.probability};
+ * with a no-op registry each call reduces to running the supplied body.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommandTracing {
+    private final ObservationRegistry registry;
+
+    public <T> T command(String command, Supplier<T> body) {
+        UUID commandId = UUID.randomUUID();
+        Correlation correlation = CorrelationContext.current()
+                .map(parent -> parent.causedBy(commandId))
+                .orElseGet(() -> Correlation.start(commandId));
+
+        return Observation.createNotStarted("es.command.handle", registry)
+                .contextualName(command)
+                .lowCardinalityKeyValue("command", command)
+                .highCardinalityKeyValue("correlation.id", correlation.correlationId().toString())
+                .highCardinalityKeyValue("causation.id", correlation.causationId().toString())
+                .observe(() -> CorrelationContext.callWith(correlation, body));
+    }
+
+    public <T> T phase(String phase, Supplier<T> body) {
+        return Observation.createNotStarted("es.command.phase", registry)
+                .contextualName(phase)
+                .lowCardinalityKeyValue("phase", phase)
+                .observe(body);
+    }
+
+    public void phase(String phase, Runnable body) {
+        Observation.createNotStarted("es.command.phase", registry)
+                .contextualName(phase)
+                .lowCardinalityKeyValue("phase", phase)
+                .observe(body);
+    }
+}
@@ -0,0 +1,24 @@
+package cqrs.common.tracing;
+
+import java.util.UUID;
+
+/**
+ * Identifies the conversation an event belongs to ({@code correlationId}) and the message that directly caused it
+ * ({@code causationId}). A command that starts a conversation uses its own id for both.
+ */
+public record Correlation(UUID correlationId, UUID causationId) {
+
+    public Correlation {
+        if (correlationId == null || causationId == null) {
+            throw new IllegalArgumentException("correlationId and causationId are required");
+        }
+    }
+
+    public static Correlation start(UUID messageId) {
+        return new Correlation(messageId, messageId);
+    }
+
+    public Correlation causedBy(UUID messageId) {
+        return new Correlation(correlationId, messageId);
+    }
+}
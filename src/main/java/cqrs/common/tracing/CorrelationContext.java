@@ -0,0 +1,33 @@
+package cqrs.common.tracing;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Holds the {@link Correlation} of the message being handled on the current thread,
+ * so the event store can stamp it on appended events and downstream listeners can continue it.
+ */
+public final class CorrelationContext {
+    private static final ThreadLocal<Correlation> CURRENT = new ThreadLocal<>();
+
+    private CorrelationContext() {
+    }
+
+    public static Optional<Correlation> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static <T> T callWith(Correlation correlation, Supplier<T> body) {
+        Correlation previous = CURRENT.get();
+        CURRENT.set(correlation);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package cqrs.export;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Chunked downloads of the event log and read models. Each response streams from a database cursor,
+ * so the export size is bounded by the client, not by server memory.
+ * An interrupted event export is resumed with {@code afterId} set to the last {@code id} received.
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private final StreamingExporter exporter;
+
+    @GetMapping("/events")
+    public ResponseEntity<StreamingResponseBody> events(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(defaultValue = "false") boolean gzip,
+                                                        @RequestParam(defaultValue = "0") long afterId) {
+        ExportFormat exportFormat = parse(format);
+        return download("events", exportFormat, gzip, out -> exporter.exportEvents(out, exportFormat, gzip, afterId));
+    }
+
+    @GetMapping("/accounts")
+    public ResponseEntity<StreamingResponseBody> accounts(@RequestParam(defaultValue = "csv") String format,
+                                                          @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = parse(format);
+        return download("accounts", exportFormat, gzip, out -> exporter.exportAccounts(out, exportFormat, gzip));
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<StreamingResponseBody> transactions(@RequestParam(defaultValue = "csv") String format,
+                                                              @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = parse(format);
+        return download("transactions", exportFormat, gzip, out -> exporter.exportTransactions(out, exportFormat, gzip));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format, boolean gzip, StreamingResponseBody body) {
+        String filename = name + "." + format.extension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.contentType()))
+                .body(body);
+    }
+
+    private ExportFormat parse(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+}
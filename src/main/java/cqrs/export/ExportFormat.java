@@ -0,0 +1,109 @@
+package cqrs.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Row encodings for streaming exports. Writers hold no rows, only the current one.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv") {
+        @Override
+        RowWriter open(Writer out, List<String> columns) throws IOException {
+            out.write(String.join(",", columns));
+            out.write('\n');
+            return values -> {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    writeCsvValue(out, values[i]);
+                }
+                out.write('\n');
+            };
+        }
+    },
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        RowWriter open(Writer out, List<String> columns) throws IOException {
+            JsonGenerator generator = JSON.createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            return values -> {
+                generator.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    generator.writeFieldName(columns.get(i));
+                    writeJsonValue(generator, values[i]);
+                }
+                generator.writeEndObject();
+                generator.flush();
+                out.write('\n');
+            };
+        }
+    };
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    abstract RowWriter open(Writer out, List<String> columns) throws IOException;
+
+    @FunctionalInterface
+    interface RowWriter {
+        void write(Object[] values) throws IOException;
+    }
+
+    /**
+     * Marks a column that already holds JSON text, so NDJSON embeds it as a value instead of a string.
+     */
+    record RawJson(String json) {
+        @Override
+        public String toString() {
+            return json;
+        }
+    }
+
+    private static void writeCsvValue(Writer out, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case RawJson raw -> generator.writeRawValue(raw.json());
+            case Long l -> generator.writeNumber(l);
+            case Integer i -> generator.writeNumber(i);
+            case BigDecimal d -> generator.writeNumber(d);
+            default -> generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package cqrs.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import cqrs.export.ExportFormat.RawJson;
+import cqrs.export.ExportFormat.RowWriter;
+import cqrs.infrastructure.compression.PayloadCodec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams tables straight from a JDBC cursor to an {@link OutputStream}. Rows are fetched {@code fetch-size}
+ * at a time and written as they are read, so memory use does not depend on table size.
+ * Runs in a read-only transaction because some drivers (PostgreSQL) only honour the fetch size with autocommit off.
+ */
+@Slf4j
+@Component
+public class StreamingExporter {
+    private static final List<String> EVENT_COLUMNS = List.of(
+            "id", "aggregate_id", "event_id", "event_type", "event_version", "created_at", "correlation_id", "causation_id", "event_data");
+    private static final List<String> ACCOUNT_COLUMNS = List.of(
+            "account_number", "aggregate_id", "account_holder", "user_id", "balance");
+    private static final List<String> TRANSACTION_COLUMNS = List.of(
+            "event_id", "aggregate_id", "account_number", "version", "type", "amount", "balance_after", "counterparty_account_number", "occurred_at");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PayloadCodec codec;
+
+    public StreamingExporter(DataSource dataSource, PayloadCodec codec, @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.codec = codec;
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Writes every event with {@code id > afterId} in id order and returns the last id written,
+     * or {@code afterId} if there was nothing new. Passing that id back resumes an interrupted export.
+     */
+    @Transactional(readOnly = true)
+    public long exportEvents(OutputStream out, ExportFormat format, boolean gzip, long afterId) {
+        long[] lastId = {afterId};
+        export(out, format, gzip, EVENT_COLUMNS,
+                "select " + String.join(", ", EVENT_COLUMNS) + ", dictionary_id, compressed_data from event_store where id > ? order by id",
+                new Object[]{afterId}, rs -> {
+                    lastId[0] = rs.getLong("id");
+                    String eventData = codec.decode(rs.getString("event_data"), (Integer) rs.getObject("dictionary_id"), rs.getBytes("compressed_data"));
+                    return new Object[]{
+                            lastId[0], rs.getString("aggregate_id"), rs.getString("event_id"), rs.getString("event_type"),
+                            rs.getInt("event_version"), rs.getString("created_at"), rs.getString("correlation_id"),
+                            rs.getString("causation_id"), new RawJson(eventData)};
+                });
+        return lastId[0];
+    }
+
+    @Transactional(readOnly = true)
+    public long exportEvents(Path file, ExportFormat format, boolean gzip, long afterId) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             OutputStream out = Channels.newOutputStream(channel)) {
+            long lastId = exportEvents(out, format, gzip, afterId);
+            channel.force(false);
+            log.info("Exported events to {} up to id {}", file, lastId);
+            return lastId;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Event export to " + file + " failed", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAccounts(OutputStream out, ExportFormat format, boolean gzip) {
+        export(out, format, gzip, ACCOUNT_COLUMNS, "select " + String.join(", ", ACCOUNT_COLUMNS) + " from bank_account_view order by account_number",
+                new Object[0], rs -> new Object[]{
+                        rs.getString("account_number"), rs.getString("aggregate_id"), rs.getString("account_holder"),
+                        rs.getString("user_id"), rs.getBigDecimal("balance")});
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTransactions(OutputStream out, ExportFormat format, boolean gzip) {
+        export(out, format, gzip, TRANSACTION_COLUMNS,
+                "select " + String.join(", ", TRANSACTION_COLUMNS) + " from bank_account_transaction order by account_number, occurred_at, version",
+                new Object[0], rs -> new Object[]{
+                        rs.getString("event_id"), rs.getString("aggregate_id"), rs.getString("account_number"), rs.getInt("version"),
+                        rs.getString("type"), rs.getBigDecimal("amount"), rs.getBigDecimal("balance_after"),
+                        rs.getString("counterparty_account_number"), rs.getString("occurred_at")});
+    }
+
+    private void export(OutputStream out, ExportFormat format, boolean gzip, List<String> columns, String sql, Object[] args, ColumnReader reader) {
+        try {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rows = format.open(writer, columns);
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                try {
+                    rows.write(reader.read(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args);
+            writer.flush();
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export failed", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object[] read(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,15 @@
+package cqrs.infrastructure.archive;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ArchivedEvent(
+        UUID eventId,
+        String eventType,
+        String eventData,
+        int eventVersion,
+        LocalDateTime createdAt,
+        UUID correlationId,
+        UUID causationId
+) {
+}
@@ -0,0 +1,76 @@
+package cqrs.infrastructure.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cold storage for event history already covered by a snapshot. Each archival run of an aggregate
+ * becomes one gzip-compressed segment row, so a dormant stream costs one row instead of one per event.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventArchive {
+    private static final TypeReference<List<ArchivedEvent>> EVENT_LIST = new TypeReference<>() {
+    };
+
+    private final EventArchiveSegmentRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public void store(UUID aggregateId, List<ArchivedEvent> events) {
+        ArchivedEvent first = events.get(0);
+        ArchivedEvent last = events.get(events.size() - 1);
+        repository.save(new EventArchiveSegment(aggregateId, first.eventVersion(), last.eventVersion(), events.size(),
+                LocalDateTime.now(), compress(events)));
+    }
+
+    /**
+     * Archived events with {@code afterVersion < version < beforeVersion}, in version order.
+     */
+    public List<ArchivedEvent> load(UUID aggregateId, int afterVersion, int beforeVersion) {
+        List<ArchivedEvent> events = new ArrayList<>();
+        for (EventArchiveSegment segment : repository
+                .findByAggregateIdAndToVersionGreaterThanAndFromVersionLessThanOrderByFromVersion(aggregateId, afterVersion, beforeVersion)) {
+            for (ArchivedEvent event : decompress(segment.getPayload())) {
+                if (event.eventVersion() > afterVersion && event.eventVersion() < beforeVersion) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    private byte[] compress(List<ArchivedEvent> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, events);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archive segment compression failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ArchivedEvent> decompress(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, EVENT_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archive segment decompression failed", e);
+        }
+    }
+}
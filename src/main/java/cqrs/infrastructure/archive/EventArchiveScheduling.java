@@ -0,0 +1,24 @@
+package cqrs.infrastructure.archive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Enabled with {@code app.archive.enabled=true}; runs {@link EventArchiver} on {@code app.archive.cron}.
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class EventArchiveScheduling {
+    private final EventArchiver archiver;
+
+    @Scheduled(cron = "${app.archive.cron:0 0 3 * * *}")
+    public void archiveIdleStreams() {
+        archiver.archiveIdleStreams();
+    }
+}
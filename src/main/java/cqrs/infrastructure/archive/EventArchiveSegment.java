@@ -0,0 +1,61 @@
+package cqrs.infrastructure.archive;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.Length;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A contiguous, compressed run of one aggregate's events ({@code fromVersion..toVersion}) moved out of {@code event_store}.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "event_archive_segment",
+        indexes = @Index(name = "idx_event_archive_segment_aggregate", columnList = "aggregateId, fromVersion")
+)
+public class EventArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false)
+    private int fromVersion;
+
+    @Column(nullable = false)
+    private int toVersion;
+
+    @Column(nullable = false)
+    private int eventCount;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] payload;
+
+    public EventArchiveSegment(UUID aggregateId, int fromVersion, int toVersion, int eventCount, LocalDateTime archivedAt, byte[] payload) {
+        this.aggregateId = aggregateId;
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.eventCount = eventCount;
+        this.archivedAt = archivedAt;
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,12 @@
+package cqrs.infrastructure.archive;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EventArchiveSegmentRepository extends JpaRepository<EventArchiveSegment, Long> {
+
+    List<EventArchiveSegment> findByAggregateIdAndToVersionGreaterThanAndFromVersionLessThanOrderByFromVersion(
+            UUID aggregateId, int afterVersion, int beforeVersion);
+}
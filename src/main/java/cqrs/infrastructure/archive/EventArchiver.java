@@ -0,0 +1,94 @@
+package cqrs.infrastructure.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import cqrs.infrastructure.compression.PayloadCodec;
+import cqrs.infrastructure.eventstore.EventEntity;
+import cqrs.infrastructure.eventstore.EventJpaRepository;
+import cqrs.infrastructure.snapshot.SnapshotEntity;
+import cqrs.infrastructure.snapshot.SnapshotJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the snapshot-covered history of idle aggregates from {@code event_store} into {@link EventArchive}.
+ * An aggregate qualifies when it has had no events for {@code app.archive.idle-after} and a snapshot covers
+ * some of its remaining rows. Only events before the latest snapshot version move, so loading the current state
+ * never needs the archive, and the snapshot's own event stays hot to show where the archived history ends. Each
+ * aggregate is archived in its own transaction.
+ */
+@Slf4j
+@Component
+public class EventArchiver {
+    private final EventJpaRepository eventRepository;
+    private final SnapshotJpaRepository snapshotRepository;
+    private final EventArchive archive;
+    private final PayloadCodec codec;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration idleAfter;
+    private final int maxAggregatesPerRun;
+
+    public EventArchiver(
+            EventJpaRepository eventRepository,
+            SnapshotJpaRepository snapshotRepository,
+            EventArchive archive,
+            PayloadCodec codec,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.archive.idle-after:P90D}") Duration idleAfter,
+            @Value("${app.archive.max-aggregates-per-run:10000}") int maxAggregatesPerRun
+    ) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.archive = archive;
+        this.codec = codec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleAfter = idleAfter;
+        this.maxAggregatesPerRun = maxAggregatesPerRun;
+    }
+
+    /**
+     * Returns the number of events archived.
+     */
+    public long archiveIdleStreams() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(idleAfter);
+        List<UUID> candidates = eventRepository.findArchivableAggregateIds(cutoff, Limit.of(maxAggregatesPerRun));
+        long archived = 0;
+        for (UUID aggregateId : candidates) {
+            archived += archive(aggregateId);
+        }
+        log.info("Event archival finished. aggregates={}, events={}", candidates.size(), archived);
+        return archived;
+    }
+
+    int archive(UUID aggregateId) {
+        Integer moved = transactionTemplate.execute(status -> {
+            Optional<SnapshotEntity> snapshot = snapshotRepository.findFirstByAggregateIdOrderByVersionDesc(aggregateId);
+            if (snapshot.isEmpty()) {
+                return 0;
+            }
+            List<EventEntity> covered = eventRepository
+                    .findByAggregateIdAndEventVersionLessThanOrderByEventVersion(aggregateId, snapshot.get().getVersion());
+            if (covered.isEmpty()) {
+                return 0;
+            }
+            // Segments are gzipped as a whole, so events go in as plain JSON.
+            archive.store(aggregateId, covered.stream()
+                    .map(e -> new ArchivedEvent(e.getEventId(), e.getEventType(),
+                            codec.decode(e.getEventData(), e.getDictionaryId(), e.getCompressedData()), e.getEventVersion(),
+                            e.getCreatedAt(), e.getCorrelationId(), e.getCausationId()))
+                    .toList());
+            eventRepository.deleteAllInBatch(covered);
+            return covered.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+}
@@ -0,0 +1,21 @@
+package cqrs.infrastructure.compression;
+
+/**
+ * Sizes are totals over {@code samples} payloads. {@code zstdBytes} is plain zstd at the same level without a
+ * dictionary, for comparison. Throughput is in uncompressed megabytes per second on one thread.
+ */
+public record CompressionBenchmarkReport(
+        PayloadKind kind,
+        int dictionaryId,
+        int samples,
+        long plainBytes,
+        long zstdBytes,
+        long dictionaryBytes,
+        double compressMbPerSecond,
+        double decompressMbPerSecond
+) {
+
+    public double ratio() {
+        return dictionaryBytes == 0 ? 0 : (double) plainBytes / dictionaryBytes;
+    }
+}
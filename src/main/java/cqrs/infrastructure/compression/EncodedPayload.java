@@ -0,0 +1,11 @@
+package cqrs.infrastructure.compression;
+
+/**
+ * What gets stored for one payload: either {@code plain} JSON, or {@code compressed} bytes and the dictionary they need.
+ */
+public record EncodedPayload(String plain, Integer dictionaryId, byte[] compressed) {
+
+    public static EncodedPayload plain(String json) {
+        return new EncodedPayload(json, null, null);
+    }
+}
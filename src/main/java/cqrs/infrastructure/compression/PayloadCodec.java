@@ -0,0 +1,98 @@
+package cqrs.infrastructure.compression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compresses event and snapshot payloads with the newest trained dictionary of their kind.
+ * <p>
+ * With {@code app.compression.enabled=false}, or before a dictionary has been trained, payloads are stored as plain
+ * JSON. Decoding always works, whatever the setting, so compression can be switched off without rewriting rows.
+ * A dictionary trained on another instance is picked up for compression after a restart. Decoding loads any
+ * dictionary version on first use.
+ */
+@Slf4j
+@Component
+public class PayloadCodec {
+    private final PayloadDictionaryRepository repository;
+    private final boolean enabled;
+    private final int level;
+    private final Map<PayloadKind, Optional<ActiveDictionary>> active = new ConcurrentHashMap<>();
+    private final Map<Integer, ZstdDictDecompress> decompressors = new ConcurrentHashMap<>();
+
+    public PayloadCodec(PayloadDictionaryRepository repository,
+                        @Value("${app.compression.enabled:false}") boolean enabled,
+                        @Value("${app.compression.level:3}") int level) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.level = level;
+    }
+
+    public EncodedPayload encode(PayloadKind kind, String json) {
+        if (!enabled) {
+            return EncodedPayload.plain(json);
+        }
+        Optional<ActiveDictionary> dictionary = active.computeIfAbsent(kind,
+                k -> repository.findFirstByKindOrderByIdDesc(k).map(this::compressor));
+        if (dictionary.isEmpty()) {
+            return EncodedPayload.plain(json);
+        }
+        byte[] compressed = Zstd.compress(json.getBytes(StandardCharsets.UTF_8), dictionary.get().compress());
+        return new EncodedPayload(null, dictionary.get().id(), compressed);
+    }
+
+    public String decode(String plain, Integer dictionaryId, byte[] compressed) {
+        if (dictionaryId == null) {
+            return plain;
+        }
+        ZstdDictDecompress dictionary = decompressor(dictionaryId);
+        int size = (int) Zstd.getFrameContentSize(compressed);
+        return new String(Zstd.decompress(compressed, dictionary, size), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the given dictionaries now, so decoding their payloads later, possibly off the caller's thread, does not
+     * touch the database. Null ids stand for plain payloads and are ignored.
+     */
+    public void preload(Collection<Integer> dictionaryIds) {
+        for (Integer dictionaryId : dictionaryIds) {
+            if (dictionaryId != null) {
+                decompressor(dictionaryId);
+            }
+        }
+    }
+
+    private ZstdDictDecompress decompressor(int dictionaryId) {
+        return decompressors.computeIfAbsent(dictionaryId, id -> new ZstdDictDecompress(
+                repository.findById(id)
+                        .orElseThrow(() -> new IllegalStateException("Payload dictionary not found: " + id))
+                        .getContent()));
+    }
+
+    /**
+     * Makes a freshly trained dictionary the one new payloads of its kind are compressed with.
+     */
+    void activate(PayloadDictionary dictionary) {
+        active.put(dictionary.getKind(), Optional.of(compressor(dictionary)));
+        log.info("Payload dictionary {} active for {} ({} bytes)", dictionary.getId(), dictionary.getKind(), dictionary.getContent().length);
+    }
+
+    private ActiveDictionary compressor(PayloadDictionary dictionary) {
+        return new ActiveDictionary(dictionary.getId(), new ZstdDictCompress(dictionary.getContent(), level));
+    }
+
+    private record ActiveDictionary(int id, ZstdDictCompress compress) {
+    }
+}
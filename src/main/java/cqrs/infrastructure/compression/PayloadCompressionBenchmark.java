@@ -0,0 +1,76 @@
+package cqrs.infrastructure.compression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+/**
+ * Measures the newest dictionary of a kind against the recently stored payloads: total size plain, with zstd alone and
+ * with the dictionary, and single-thread compress/decompress throughput over {@code rounds} passes of the sample.
+ */
+@Component
+public class PayloadCompressionBenchmark {
+    private static final double MEGABYTE = 1024 * 1024;
+
+    private final PayloadSamples samples;
+    private final PayloadDictionaryRepository repository;
+    private final int level;
+
+    public PayloadCompressionBenchmark(PayloadSamples samples,
+                                       PayloadDictionaryRepository repository,
+                                       @Value("${app.compression.level:3}") int level) {
+        this.samples = samples;
+        this.repository = repository;
+        this.level = level;
+    }
+
+    public CompressionBenchmarkReport run(PayloadKind kind, int sampleSize, int rounds) {
+        PayloadDictionary dictionary = repository.findFirstByKindOrderByIdDesc(kind)
+                .orElseThrow(() -> new IllegalArgumentException("No " + kind + " dictionary has been trained"));
+        List<byte[]> payloads = samples.recent(kind, sampleSize);
+        if (payloads.isEmpty()) {
+            throw new IllegalArgumentException("No " + kind + " payloads stored");
+        }
+
+        try (ZstdDictCompress compress = new ZstdDictCompress(dictionary.getContent(), level);
+             ZstdDictDecompress decompress = new ZstdDictDecompress(dictionary.getContent())) {
+            long plainBytes = 0;
+            long zstdBytes = 0;
+            long dictionaryBytes = 0;
+            List<byte[]> compressed = new ArrayList<>(payloads.size());
+            for (byte[] payload : payloads) {
+                byte[] withDictionary = Zstd.compress(payload, compress);
+                compressed.add(withDictionary);
+                plainBytes += payload.length;
+                zstdBytes += Zstd.compress(payload, level).length;
+                dictionaryBytes += withDictionary.length;
+            }
+
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                for (byte[] payload : payloads) {
+                    Zstd.compress(payload, compress);
+                }
+            }
+            double compressSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < compressed.size(); i++) {
+                    Zstd.decompress(compressed.get(i), decompress, payloads.get(i).length);
+                }
+            }
+            double decompressSeconds = (System.nanoTime() - start) / 1e9;
+
+            double processedMb = plainBytes * (double) rounds / MEGABYTE;
+            return new CompressionBenchmarkReport(kind, dictionary.getId(), payloads.size(), plainBytes, zstdBytes, dictionaryBytes,
+                    processedMb / compressSeconds, processedMb / decompressSeconds);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package cqrs.infrastructure.compression;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A trained zstd dictionary. Each training run adds a new version; the newest one per kind compresses new payloads
+ * and older ones are kept for the rows that still reference them.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "payload_dictionary", indexes = @Index(name = "idx_payload_dictionary_kind", columnList = "kind, id"))
+public class PayloadDictionary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PayloadKind kind;
+
+    @Column(nullable = false, length = 1048576)
+    private byte[] content;
+
+    @Column(nullable = false)
+    private int sampleCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public PayloadDictionary(PayloadKind kind, byte[] content, int sampleCount, LocalDateTime createdAt) {
+        this.kind = kind;
+        this.content = content;
+        this.sampleCount = sampleCount;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,37 @@
+package cqrs.infrastructure.compression;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/compression")
+@RequiredArgsConstructor
+public class PayloadDictionaryController {
+    private final PayloadDictionaryTrainer trainer;
+    private final PayloadCompressionBenchmark benchmark;
+
+    @PostMapping("/dictionaries/{kind}")
+    @ResponseStatus(HttpStatus.CREATED)
+    public DictionaryResponse train(@PathVariable PayloadKind kind) {
+        PayloadDictionary dictionary = trainer.train(kind);
+        return new DictionaryResponse(dictionary.getId(), dictionary.getKind(), dictionary.getContent().length, dictionary.getSampleCount());
+    }
+
+    @GetMapping("/benchmarks/{kind}")
+    public CompressionBenchmarkReport benchmark(@PathVariable PayloadKind kind,
+                                                @RequestParam(defaultValue = "1000") int samples,
+                                                @RequestParam(defaultValue = "10") int rounds) {
+        return benchmark.run(kind, samples, rounds);
+    }
+
+    public record DictionaryResponse(int id, PayloadKind kind, int bytes, int samples) {
+    }
+}
@@ -0,0 +1,10 @@
+package cqrs.infrastructure.compression;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PayloadDictionaryRepository extends JpaRepository<PayloadDictionary, Integer> {
+
+    Optional<PayloadDictionary> findFirstByKindOrderByIdDesc(PayloadKind kind);
+}
@@ -0,0 +1,62 @@
+package cqrs.infrastructure.compression;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Trains a new dictionary version from the most recent {@code sample-size} payloads of one kind and activates it.
+ * Rows written before keep the dictionary they were compressed with. The dictionary is saved in its own transaction
+ * and only activated once that has committed.
+ */
+@Slf4j
+@Component
+public class PayloadDictionaryTrainer {
+    private static final int MIN_SAMPLES = 100;
+    // zstd's guidance: give the trainer around a hundred times the dictionary size in samples.
+    private static final int SAMPLE_BYTES_PER_DICTIONARY_BYTE = 100;
+
+    private final PayloadSamples samples;
+    private final PayloadDictionaryRepository repository;
+    private final PayloadCodec codec;
+    private final int sampleSize;
+    private final int dictionarySize;
+
+    public PayloadDictionaryTrainer(PayloadSamples samples,
+                                    PayloadDictionaryRepository repository,
+                                    PayloadCodec codec,
+                                    @Value("${app.compression.sample-size:10000}") int sampleSize,
+                                    @Value("${app.compression.dictionary-size:16384}") int dictionarySize) {
+        this.samples = samples;
+        this.repository = repository;
+        this.codec = codec;
+        this.sampleSize = sampleSize;
+        this.dictionarySize = dictionarySize;
+    }
+
+    public PayloadDictionary train(PayloadKind kind) {
+        ZstdDictTrainer trainer = new ZstdDictTrainer(dictionarySize * SAMPLE_BYTES_PER_DICTIONARY_BYTE, dictionarySize);
+        int added = 0;
+        List<byte[]> payloads = samples.recent(kind, sampleSize);
+        for (byte[] payload : payloads) {
+            if (!trainer.addSample(payload)) {
+                break;
+            }
+            added++;
+        }
+        if (added < MIN_SAMPLES) {
+            throw new IllegalArgumentException("Not enough " + kind + " payloads to train a dictionary: " + added);
+        }
+
+        PayloadDictionary dictionary = repository.save(new PayloadDictionary(kind, trainer.trainSamples(), added, LocalDateTime.now()));
+        codec.activate(dictionary);
+        log.info("Trained {} dictionary {} from {} samples", kind, dictionary.getId(), added);
+        return dictionary;
+    }
+}
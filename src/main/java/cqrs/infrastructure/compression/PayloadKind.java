@@ -0,0 +1,6 @@
+package cqrs.infrastructure.compression;
+
+public enum PayloadKind {
+    EVENT,
+    SNAPSHOT
+}
@@ -0,0 +1,32 @@
+package cqrs.infrastructure.compression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The most recently stored payloads of a kind, decoded to JSON bytes, for training and benchmarking.
+ */
+@Component
+class PayloadSamples {
+    private final JdbcTemplate jdbcTemplate;
+    private final PayloadCodec codec;
+
+    PayloadSamples(DataSource dataSource, PayloadCodec codec) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.codec = codec;
+    }
+
+    List<byte[]> recent(PayloadKind kind, int limit) {
+        String sql = switch (kind) {
+            case EVENT -> "select event_data, dictionary_id, compressed_data from event_store order by id desc limit ?";
+            case SNAPSHOT -> "select snapshot_data, dictionary_id, compressed_data from snapshot order by id desc limit ?";
+        };
+        return jdbcTemplate.query(sql, (rs, i) -> codec.decode(rs.getString(1), (Integer) rs.getObject(2), rs.getBytes(3))
+                .getBytes(StandardCharsets.UTF_8), limit);
+    }
+}
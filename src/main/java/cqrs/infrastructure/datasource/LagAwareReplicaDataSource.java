@@ -0,0 +1,33 @@
+package cqrs.infrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * The read-only target of the routing proxy: the replica while {@link ReplicaLagMonitor} considers it fresh,
+ * otherwise the primary.
+ */
+class LagAwareReplicaDataSource extends DelegatingDataSource {
+    private final DataSource primary;
+    private final ReplicaLagMonitor monitor;
+
+    LagAwareReplicaDataSource(DataSource replica, DataSource primary, ReplicaLagMonitor monitor) {
+        super(replica);
+        this.primary = primary;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitor.isReplicaUsable() ? super.getConnection() : primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitor.isReplicaUsable() ? super.getConnection(username, password) : primary.getConnection(username, password);
+    }
+}
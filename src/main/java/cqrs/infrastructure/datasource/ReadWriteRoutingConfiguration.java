@@ -0,0 +1,72 @@
+package cqrs.infrastructure.datasource;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import cqrs.infrastructure.datasource.ReadWriteRoutingProperties.Replica;
+
+/**
+ * Enabled with {@code app.datasource.routing.enabled=true}. The application's {@link DataSource} becomes a
+ * {@link LazyConnectionDataSourceProxy} over the primary pool ({@code spring.datasource.*}) whose read-only target is
+ * the replica pool. The physical connection is only fetched on first use, after the transaction has been marked
+ * read-only, so {@code @Transactional(readOnly = true)} work goes to the replica and everything else to the primary.
+ * Read-only services called from a command join its read-write transaction and therefore read from the primary.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReadWriteRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadWriteRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(ReadWriteRoutingProperties properties) {
+        Replica replica = properties.replica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.url())
+                .username(replica.username())
+                .password(replica.password())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+        if (replica.migrationLocations() != null) {
+            Flyway.configure().dataSource(dataSource).locations(replica.migrationLocations()).load().migrate();
+        }
+        return dataSource;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica, ReadWriteRoutingProperties properties) {
+        return new ReplicaLagMonitor(replica, properties.lagQuery(), properties.maxLag());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaLagMonitor monitor) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new LagAwareReplicaDataSource(replica, primary, monitor));
+        return routing;
+    }
+}
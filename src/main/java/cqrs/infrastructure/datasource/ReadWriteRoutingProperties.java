@@ -0,0 +1,40 @@
+package cqrs.infrastructure.datasource;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * {@code lagQuery} runs on the replica and returns its replication lag in seconds,
+ * e.g. {@code select extract(epoch from now() - pg_last_xact_replay_timestamp())} on PostgreSQL.
+ * Without it the replica is always considered fresh.
+ */
+@ConfigurationProperties("app.datasource.routing")
+public record ReadWriteRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        Replica replica,
+        @DefaultValue("PT5S") Duration maxLag,
+        String lagQuery,
+        @DefaultValue("PT1S") Duration lagCheckInterval
+) {
+
+    public ReadWriteRoutingProperties {
+        if (enabled && (replica == null || replica.url() == null)) {
+            throw new IllegalArgumentException("app.datasource.routing.replica.url is required when routing is enabled");
+        }
+    }
+
+    /**
+     * {@code migrationLocations} runs the Flyway migrations against the replica as well,
+     * for local setups where the replica is a separate empty database rather than a streaming copy.
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize,
+            String migrationLocations
+    ) {
+    }
+}
@@ -0,0 +1,57 @@
+package cqrs.infrastructure.datasource;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the replica's replication lag and marks it unusable while the lag exceeds {@code maxLag}
+ * or the replica cannot be queried. Read-only work falls back to the primary in the meantime.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile boolean replicaUsable = true;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:PT1S}")
+    public void check() {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return;
+        }
+        try {
+            Double seconds = replica.queryForObject(lagQuery, Double.class);
+            update(seconds == null ? Duration.ZERO : Duration.ofMillis((long) (seconds * 1000)));
+        } catch (DataAccessException e) {
+            if (replicaUsable) {
+                log.warn("Replica lag check failed, routing reads to the primary", e);
+            }
+            replicaUsable = false;
+        }
+    }
+
+    void update(Duration lag) {
+        boolean usable = lag.compareTo(maxLag) <= 0;
+        if (usable != replicaUsable) {
+            log.warn("Replica lag {} (max {}), reads routed to the {}", lag, maxLag, usable ? "replica" : "primary");
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+}
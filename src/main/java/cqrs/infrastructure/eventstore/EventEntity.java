@@ -5,15 +5,22 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
+import org.hibernate.Length;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Getter
-@Table(name = "event_store")
+@Table(
+        name = "event_store",
+        indexes = @Index(name = "idx_event_store_aggregate_created", columnList = "aggregateId, createdAt"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_event_store_aggregate_version", columnNames = {"aggregateId", "eventVersion"})
+)
 public class EventEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,7 +35,10 @@ public class EventEntity {
     @Column(nullable = false)
     private String eventType;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    /**
+     * Plain JSON, or null when the payload is stored in {@code compressedData}.
+     */
+    @Column(columnDefinition = "TEXT")
     private String eventData;
 
     @Column(nullable = false)
@@ -37,6 +47,15 @@ public class EventEntity {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    private UUID correlationId;
+
+    private UUID causationId;
+
+    private Integer dictionaryId;
+
+    @Column(length = Length.LONG32)
+    private byte[] compressedData;
+
     protected EventEntity() {
     }
 
@@ -46,7 +65,11 @@ public class EventEntity {
             String eventType,
             String eventData,
             int eventVersion,
-            LocalDateTime createdAt
+            LocalDateTime createdAt,
+            UUID correlationId,
+            UUID causationId,
+            Integer dictionaryId,
+            byte[] compressedData
     ) {
         this.aggregateId = aggregateId;
         this.eventId = eventId;
@@ -54,5 +77,9 @@ public class EventEntity {
         this.eventData = eventData;
         this.eventVersion = eventVersion;
         this.createdAt = createdAt;
+        this.correlationId = correlationId;
+        this.causationId = causationId;
+        this.dictionaryId = dictionaryId;
+        this.compressedData = compressedData;
     }
 }
\ No newline at end of file
@@ -1,12 +1,38 @@
 package cqrs.infrastructure.eventstore;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface EventJpaRepository extends JpaRepository<EventEntity, Long> {
     List<EventEntity> findByAggregateIdOrderByEventVersionAsc(UUID aggregateId);
 
     List<EventEntity> findByAggregateIdAndEventVersionGreaterThanOrderByEventVersion(UUID aggregateId, int eventVersionIsGreaterThan);
-}
\ No newline at end of file
+
+    List<EventEntity> findByAggregateIdAndEventVersionGreaterThanAndCreatedAtLessThanEqualOrderByEventVersion(
+            UUID aggregateId, int eventVersionIsGreaterThan, LocalDateTime createdAt);
+
+    Optional<EventEntity> findFirstByAggregateIdAndEventVersionGreaterThanOrderByEventVersion(UUID aggregateId, int eventVersionIsGreaterThan);
+
+    List<EventEntity> findByAggregateIdAndEventVersionLessThanOrderByEventVersion(UUID aggregateId, int eventVersion);
+
+    List<EventEntity> findByAggregateIdInAndEventVersionGreaterThanOrderByAggregateIdAscEventVersionAsc(
+            Collection<UUID> aggregateIds, int eventVersionIsGreaterThan);
+
+    /**
+     * Aggregates idle since {@code cutoff} that still have rows before their snapshot's version.
+     */
+    @Query("""
+            select distinct e.aggregateId from EventEntity e
+            where exists (select 1 from SnapshotEntity s where s.aggregateId = e.aggregateId and s.version > e.eventVersion)
+              and not exists (select 1 from EventEntity r where r.aggregateId = e.aggregateId and r.createdAt >= :cutoff)
+            """)
+    List<UUID> findArchivableAggregateIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+}
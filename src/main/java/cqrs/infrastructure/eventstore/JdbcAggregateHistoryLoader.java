@@ -0,0 +1,127 @@
+package cqrs.infrastructure.eventstore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.common.AggregateHistory;
+import cqrs.common.AggregateHistoryLoader;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.infrastructure.compression.PayloadCodec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link AggregateHistoryLoader} that reads the latest snapshot and every event after it in one statement, instead
+ * of a snapshot query followed by an event query. The snapshot row, if any, comes first.
+ * <p>
+ * Rare cases fall back to {@link EventStore}: a snapshot that cannot be read replays the whole stream, and hot rows
+ * that do not start right after the snapshot are completed from the archive.
+ */
+@Slf4j
+@Component
+public class JdbcAggregateHistoryLoader<T extends IsSnapshotData> implements AggregateHistoryLoader<T> {
+    private static final String LOAD_SQL = """
+            with latest as (
+                select version, snapshot_type, snapshot_data, dictionary_id, compressed_data
+                from snapshot
+                where aggregate_id = ?
+                order by version desc
+                fetch first 1 rows only
+            )
+            select 1 as is_snapshot, version, snapshot_type as payload_type, snapshot_data as payload, dictionary_id, compressed_data
+            from latest
+            union all
+            select 0, e.event_version, e.event_type, e.event_data, e.dictionary_id, e.compressed_data
+            from event_store e
+            where e.aggregate_id = ? and e.event_version > coalesce((select version from latest), -1)
+            order by is_snapshot desc, version
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PayloadCodec codec;
+    private final EventStore eventStore;
+    private final EventSourcingMetrics metrics;
+
+    public JdbcAggregateHistoryLoader(DataSource dataSource, ObjectMapper objectMapper, PayloadCodec codec,
+                                      EventStore eventStore, EventSourcingMetrics metrics) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+        this.codec = codec;
+        this.eventStore = eventStore;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public AggregateHistory<T> load(UUID aggregateId, Class<T> snapshotType) {
+        List<Row> rows = jdbcTemplate.query(LOAD_SQL, (rs, i) -> new Row(
+                rs.getInt("is_snapshot") == 1,
+                rs.getInt("version"),
+                rs.getString("payload_type"),
+                codec.decode(rs.getString("payload"), (Integer) rs.getObject("dictionary_id"), rs.getBytes("compressed_data"))
+        ), aggregateId, aggregateId);
+
+        boolean hasSnapshot = !rows.isEmpty() && rows.get(0).snapshot();
+        List<Row> eventRows = hasSnapshot ? rows.subList(1, rows.size()) : rows;
+        if (!hasSnapshot) {
+            metrics.snapshotMiss();
+            return new AggregateHistory<>(Optional.empty(), withArchived(aggregateId, -1, eventRows));
+        }
+
+        Row snapshotRow = rows.get(0);
+        Optional<T> snapshot = deserializeSnapshot(aggregateId, snapshotRow, snapshotType);
+        if (snapshot.isEmpty()) {
+            metrics.snapshotDeserializeFailure();
+            return new AggregateHistory<>(Optional.empty(), eventStore.load(aggregateId));
+        }
+        metrics.snapshotHit();
+        return new AggregateHistory<>(snapshot, withArchived(aggregateId, snapshotRow.version(), eventRows));
+    }
+
+    private List<Event> withArchived(UUID aggregateId, int afterVersion, List<Row> eventRows) {
+        if (!eventRows.isEmpty() && eventRows.get(0).version() > afterVersion + 1) {
+            return eventStore.load(aggregateId, afterVersion);
+        }
+        List<Event> events = new ArrayList<>(eventRows.size());
+        for (Row row : eventRows) {
+            events.add(deserializeEvent(row));
+        }
+        return events;
+    }
+
+    private Event deserializeEvent(Row row) {
+        try {
+            return (Event) objectMapper.readValue(row.payload(), Class.forName(row.type()));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Event deserialization failed", e);
+        }
+    }
+
+    private Optional<T> deserializeSnapshot(UUID aggregateId, Row row, Class<T> snapshotType) {
+        try {
+            Class<?> actualType = Class.forName(row.type());
+            if (!snapshotType.isAssignableFrom(actualType)) {
+                log.error("Requested snapshot type {} is not assignable from stored type {}", snapshotType.getName(), actualType.getName());
+                return Optional.empty();
+            }
+            return Optional.of(snapshotType.cast(objectMapper.readValue(row.payload(), actualType)));
+        } catch (Exception e) {
+            log.error("Error deserializing snapshot for aggregateId: {}", aggregateId, e);
+            return Optional.empty();
+        }
+    }
+
+    private record Row(boolean snapshot, int version, String type, String payload) {
+    }
+}
@@ -1,55 +1,112 @@
 package cqrs.infrastructure.eventstore;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import cqrs.common.Event;
 import cqrs.common.EventStore;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.tracing.Correlation;
+import cqrs.common.tracing.CorrelationContext;
+import cqrs.infrastructure.archive.ArchivedEvent;
+import cqrs.infrastructure.archive.EventArchive;
+import cqrs.infrastructure.compression.EncodedPayload;
+import cqrs.infrastructure.compression.PayloadCodec;
+import cqrs.infrastructure.compression.PayloadKind;
 import lombok.RequiredArgsConstructor;
 
 @Component
 @RequiredArgsConstructor
 public class JpaEventStore implements EventStore {
+    /**
+     * Aggregates per {@link #loadMany} statement, i.e. bind parameters in its {@code aggregate_id in (...)} list.
+     */
+    private static final int LOAD_MANY_CHUNK_SIZE = 500;
+
     private final ObjectMapper objectMapper;
     private final EventJpaRepository eventJpaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventSourcingMetrics metrics;
+    private final EventArchive archive;
+    private final PayloadCodec codec;
 
     @Override
     public void save(UUID aggregateId, Event event) {
-        try {
-            String eventData = objectMapper.writeValueAsString(event);
-            EventEntity entity = new EventEntity(
-                    aggregateId,
-                    event.eventId(),
-                    event.getClass().getName(),
-                    eventData,
-                    event.version(),
-                    event.timestamp()
-            );
-            eventJpaRepository.save(entity);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Event serialization failed", e);
+        saveAll(aggregateId, List.of(event));
+    }
+
+    @Override
+    public void saveAll(UUID aggregateId, List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Correlation correlation = CorrelationContext.current().orElse(null);
+        List<EventEntity> entities = new ArrayList<>(events.size());
+        for (Event event : events) {
+            entities.add(toEntity(aggregateId, event, correlation));
+        }
+        // A duplicate (aggregate_id, event_version) surfaces here as DataIntegrityViolationException,
+        // which callers treat as a concurrent-modification conflict.
+        eventJpaRepository.saveAll(entities);
+        metrics.recordAppend(start, events.size());
+
+        for (Event event : events) {
+            eventPublisher.publishEvent(event);
         }
     }
 
     @Override
     public List<Event> load(UUID aggregateId) {
-        List<EventEntity> entities = eventJpaRepository.findByAggregateIdOrderByEventVersionAsc(aggregateId);
-        return entities
-                .stream()
-                .map(this::deserializeEvent)
-                .sorted(Comparator.comparing(Event::version))
-                .toList();
+        return withArchived(aggregateId, -1, eventJpaRepository.findByAggregateIdOrderByEventVersionAsc(aggregateId), null);
     }
 
-    private Event deserializeEvent(EventEntity entity) {
+    private EventEntity toEntity(UUID aggregateId, Event event, Correlation correlation) {
+        String eventData = serializeEvent(event);
+        metrics.recordEventPayload(eventData);
+        EncodedPayload encoded = codec.encode(PayloadKind.EVENT, eventData);
+        return new EventEntity(
+                aggregateId,
+                event.eventId(),
+                event.getClass().getName(),
+                encoded.plain(),
+                event.version(),
+                event.timestamp(),
+                correlation == null ? null : correlation.correlationId(),
+                correlation == null ? null : correlation.causationId(),
+                encoded.dictionaryId(),
+                encoded.compressed()
+        );
+    }
+
+    private String serializeEvent(Event event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event serialization failed", e);
+        }
+    }
+
+    private Event deserializeEvent(String eventType, String eventData) {
         try {
-            Class<?> clazz = Class.forName(entity.getEventType());
-            return (Event) objectMapper.readValue(entity.getEventData(), clazz);
+            Class<?> clazz = Class.forName(eventType);
+            return (Event) objectMapper.readValue(eventData, clazz);
         } catch (Exception e) {
             throw new IllegalArgumentException("Event deserialization failed", e);
         }
@@ -59,11 +116,100 @@ public class JpaEventStore implements EventStore {
     public List<Event> load(UUID aggregateId, int afterVersion) {
         List<EventEntity> entities = eventJpaRepository
                 .findByAggregateIdAndEventVersionGreaterThanOrderByEventVersion(aggregateId, afterVersion);
+        return withArchived(aggregateId, afterVersion, entities, null);
+    }
+
+    @Override
+    public List<Event> load(UUID aggregateId, int afterVersion, LocalDateTime until) {
+        List<EventEntity> entities = eventJpaRepository
+                .findByAggregateIdAndEventVersionGreaterThanAndCreatedAtLessThanEqualOrderByEventVersion(aggregateId, afterVersion, until);
+        if (entities.isEmpty()) {
+            // Every hot row may be newer than until while older history sits in the archive.
+            return eventJpaRepository.findFirstByAggregateIdAndEventVersionGreaterThanOrderByEventVersion(aggregateId, afterVersion)
+                    .map(first -> decode(archivedBefore(aggregateId, afterVersion, first.getEventVersion(), until), List.of()))
+                    .orElse(List.of());
+        }
+        return withArchived(aggregateId, afterVersion, entities, until);
+    }
+
+    /**
+     * Reads the requested streams with one statement per {@value #LOAD_MANY_CHUNK_SIZE} aggregates. Every read,
+     * archive included, runs on the caller's thread and in its transaction; only payload decoding is spread over
+     * virtual threads, one per aggregate.
+     */
+    @Override
+    public Map<UUID, List<Event>> loadMany(Map<UUID, Integer> afterVersions) {
+        List<UUID> aggregateIds = List.copyOf(afterVersions.keySet());
+        Map<UUID, List<EventEntity>> hot = new HashMap<>();
+        for (int from = 0; from < aggregateIds.size(); from += LOAD_MANY_CHUNK_SIZE) {
+            List<UUID> chunk = aggregateIds.subList(from, Math.min(aggregateIds.size(), from + LOAD_MANY_CHUNK_SIZE));
+            int lowestAfterVersion = chunk.stream().mapToInt(afterVersions::get).min().orElse(-1);
+            for (EventEntity entity : eventJpaRepository
+                    .findByAggregateIdInAndEventVersionGreaterThanOrderByAggregateIdAscEventVersionAsc(chunk, lowestAfterVersion)) {
+                if (entity.getEventVersion() > afterVersions.get(entity.getAggregateId())) {
+                    hot.computeIfAbsent(entity.getAggregateId(), id -> new ArrayList<>()).add(entity);
+                }
+            }
+        }
 
-        return entities
-                .stream()
-                .map(this::deserializeEvent)
-                .sorted(Comparator.comparing(Event::version))
+        Map<UUID, List<ArchivedEvent>> archived = new HashMap<>();
+        Set<Integer> dictionaryIds = new HashSet<>();
+        afterVersions.forEach((aggregateId, afterVersion) -> {
+            List<EventEntity> rows = hot.getOrDefault(aggregateId, List.of());
+            archived.put(aggregateId, rows.isEmpty() ? List.of() : archivedBefore(aggregateId, afterVersion, rows.get(0).getEventVersion(), null));
+            rows.forEach(row -> dictionaryIds.add(row.getDictionaryId()));
+        });
+        codec.preload(dictionaryIds);
+
+        Map<UUID, Future<List<Event>>> decoding = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            afterVersions.forEach((aggregateId, afterVersion) -> decoding.put(aggregateId, executor.submit(
+                    () -> decode(archived.get(aggregateId), hot.getOrDefault(aggregateId, List.of())))));
+        }
+        Map<UUID, List<Event>> streams = new LinkedHashMap<>();
+        decoding.forEach((aggregateId, events) -> streams.put(aggregateId, join(events)));
+        return streams;
+    }
+
+    private static List<Event> join(Future<List<Event>> events) {
+        if (events.state() == Future.State.FAILED) {
+            Throwable failure = events.exceptionNow();
+            throw failure instanceof RuntimeException e ? e : new IllegalStateException("Event stream decoding failed", failure);
+        }
+        return events.resultNow();
+    }
+
+    private List<Event> withArchived(UUID aggregateId, int afterVersion, List<EventEntity> hot, LocalDateTime until) {
+        if (hot.isEmpty()) {
+            return List.of();
+        }
+        return decode(archivedBefore(aggregateId, afterVersion, hot.get(0).getEventVersion(), until), hot);
+    }
+
+    /**
+     * The archive is only read when the hot rows do not start right after {@code afterVersion},
+     * i.e. when the caller asked for history that was moved out with an older snapshot. Archival always leaves the
+     * snapshot's own event hot, so an aggregate with no hot rows after {@code afterVersion} has nothing archived
+     * there either, and an up-to-date load never touches the archive.
+     */
+    private List<ArchivedEvent> archivedBefore(UUID aggregateId, int afterVersion, int firstHotVersion, LocalDateTime until) {
+        if (firstHotVersion <= afterVersion + 1) {
+            return List.of();
+        }
+        return archive.load(aggregateId, afterVersion, firstHotVersion).stream()
+                .filter(archived -> until == null || !archived.createdAt().isAfter(until))
                 .toList();
     }
-}
\ No newline at end of file
+
+    private List<Event> decode(List<ArchivedEvent> archived, List<EventEntity> hot) {
+        List<Event> events = new ArrayList<>(archived.size() + hot.size());
+        for (ArchivedEvent event : archived) {
+            events.add(deserializeEvent(event.eventType(), event.eventData()));
+        }
+        for (EventEntity entity : hot) {
+            events.add(deserializeEvent(entity.getEventType(),
+                    codec.decode(entity.getEventData(), entity.getDictionaryId(), entity.getCompressedData())));
+        }
+        return events;
+    }
+}
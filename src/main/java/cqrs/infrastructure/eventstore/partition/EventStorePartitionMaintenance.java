@@ -0,0 +1,53 @@
+package cqrs.infrastructure.eventstore.partition;
+
+import java.time.YearMonth;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * With monthly partitioning, keeps {@code monthsAhead} future month partitions in place so inserts never hit a month
+ * without a partition. Runs at startup and on the first day of every month, and fails if {@code event_store} is not
+ * partitioned by month, since month partitions cannot be attached to it.
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@EnableConfigurationProperties(EventStorePartitioningProperties.class)
+@ConditionalOnProperty(prefix = "app.eventstore.partitioning", name = {"enabled", "monthly"}, havingValue = "true")
+public class EventStorePartitionMaintenance {
+    private final JdbcTemplate jdbcTemplate;
+    private final EventStorePartitioningProperties partitioning;
+
+    public EventStorePartitionMaintenance(DataSource dataSource, EventStorePartitioningProperties partitioning) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.partitioning = partitioning;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 0 1 * *")
+    public void createUpcomingPartitions() {
+        String strategy = PartitionedEventStoreMigration.partitionStrategy(jdbcTemplate);
+        if (!"r".equals(strategy)) {
+            throw new IllegalStateException("app.eventstore.partitioning.monthly is set, but event_store is "
+                    + (strategy == null ? "not partitioned" : "partitioned by hash only"));
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= partitioning.monthsAhead(); i++) {
+            for (String statement : PartitionedEventStoreDdl.createMonthPartition(partitioning, current.plusMonths(i))) {
+                jdbcTemplate.execute(statement);
+            }
+        }
+        log.info("Event store month partitions ensured through {}", current.plusMonths(partitioning.monthsAhead()));
+    }
+}
@@ -0,0 +1,26 @@
+package cqrs.infrastructure.eventstore.partition;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * PostgreSQL partitioning of {@code event_store}: {@code hashPartitions} buckets on {@code aggregate_id}
+ * (0 for none) and/or one range partition per creation month, created {@code monthsAhead} months in advance.
+ */
+@ConfigurationProperties("app.eventstore.partitioning")
+public record EventStorePartitioningProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("16") int hashPartitions,
+        @DefaultValue("false") boolean monthly,
+        @DefaultValue("3") int monthsAhead
+) {
+
+    public EventStorePartitioningProperties {
+        if (hashPartitions < 0 || monthsAhead < 0) {
+            throw new IllegalArgumentException("app.eventstore.partitioning.hash-partitions and months-ahead must not be negative");
+        }
+        if (hashPartitions == 0 && !monthly) {
+            throw new IllegalArgumentException("app.eventstore.partitioning needs hash partitions, monthly partitions or both");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package cqrs.infrastructure.eventstore.partition;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates PostgreSQL DDL for a partitioned {@code event_store} with the same columns as {@code EventEntity}.
+ * <p>
+ * {@code id} stays a single identity sequence shared by all partitions, so it remains a global, monotonic position
+ * for catch-up readers. Per-aggregate loads filter on {@code aggregate_id}, so they are pruned to one hash partition,
+ * or to one hash partition per month with monthly partitions. Loads have no {@code created_at} bound, so they still
+ * visit every month.
+ * <p>
+ * PostgreSQL only enforces unique constraints that include every partition key. With hash partitioning alone,
+ * {@code (aggregate_id, event_version)} stays a real unique constraint. With monthly partitions it cannot, so a row
+ * trigger serializes appends per aggregate with an advisory lock and raises {@code unique_violation} on a duplicate
+ * version. Writers keep seeing the same DataIntegrityViolationException they get from the constraint.
+ */
+public final class PartitionedEventStoreDdl {
+    private static final String COLUMNS = """
+                id bigint generated by default as identity,
+                aggregate_id uuid not null,
+                event_id uuid not null,
+                event_type varchar(255) not null,
+                event_data text,
+                event_version integer not null,
+                created_at timestamp(6) not null,
+                correlation_id uuid,
+                causation_id uuid,
+                dictionary_id integer,
+                compressed_data bytea,
+            """;
+
+    private PartitionedEventStoreDdl() {
+    }
+
+    public static List<String> createTable(EventStorePartitioningProperties partitioning, YearMonth firstMonth) {
+        List<String> statements = new ArrayList<>(createUnguardedTable(partitioning, firstMonth));
+        statements.addAll(versionGuard(partitioning));
+        return statements;
+    }
+
+    /**
+     * The table, its partitions and indexes without the monthly version guard, which rows copied from a table that
+     * already had the unique constraint do not need.
+     */
+    static List<String> createUnguardedTable(EventStorePartitioningProperties partitioning, YearMonth firstMonth) {
+        List<String> statements = new ArrayList<>();
+        if (partitioning.monthly()) {
+            statements.add("create table event_store (\n" + COLUMNS + """
+                        primary key (created_at, aggregate_id, id)
+                    ) partition by range (created_at)""");
+            for (int i = 0; i <= partitioning.monthsAhead(); i++) {
+                statements.addAll(createMonthPartition(partitioning, firstMonth.plusMonths(i)));
+            }
+            statements.add("create index idx_event_store_aggregate_version on event_store (aggregate_id, event_version)");
+        } else {
+            statements.add("create table event_store (\n" + COLUMNS + """
+                        primary key (aggregate_id, id),
+                        constraint uk_event_store_aggregate_version unique (aggregate_id, event_version)
+                    ) partition by hash (aggregate_id)""");
+            statements.addAll(hashPartitions("event_store", partitioning.hashPartitions()));
+        }
+        statements.add("create index idx_event_store_aggregate_created on event_store (aggregate_id, created_at)");
+        statements.add("create index idx_event_store_position on event_store (id)");
+        return statements;
+    }
+
+    /**
+     * Idempotent; safe to run for months that already exist.
+     */
+    public static List<String> createMonthPartition(EventStorePartitioningProperties partitioning, YearMonth month) {
+        String name = monthPartitionName(month);
+        String statement = "create table if not exists " + name + " partition of event_store for values from ('"
+                + month.atDay(1) + "') to ('" + month.plusMonths(1).atDay(1) + "')";
+        if (partitioning.hashPartitions() == 0) {
+            return List.of(statement);
+        }
+        List<String> statements = new ArrayList<>();
+        statements.add(statement + " partition by hash (aggregate_id)");
+        statements.addAll(hashPartitions(name, partitioning.hashPartitions()));
+        return statements;
+    }
+
+    static String monthPartitionName(YearMonth month) {
+        return String.format("event_store_%d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static List<String> hashPartitions(String parent, int modulus) {
+        List<String> statements = new ArrayList<>(modulus);
+        for (int remainder = 0; remainder < modulus; remainder++) {
+            statements.add("create table if not exists " + parent + "_h" + remainder + " partition of " + parent
+                    + " for values with (modulus " + modulus + ", remainder " + remainder + ")");
+        }
+        return statements;
+    }
+
+    static List<String> versionGuard(EventStorePartitioningProperties partitioning) {
+        if (!partitioning.monthly()) {
+            return List.of();
+        }
+        return List.of("""
+                create or replace function event_store_version_guard() returns trigger as $$
+                begin
+                    perform pg_advisory_xact_lock(hashtextextended(new.aggregate_id::text, 0));
+                    if exists (select 1 from event_store where aggregate_id = new.aggregate_id and event_version = new.event_version) then
+                        raise exception using errcode = 'unique_violation',
+                            message = format('duplicate event_version %s for aggregate %s', new.event_version, new.aggregate_id);
+                    end if;
+                    return new;
+                end
+                $$ language plpgsql""",
+                "create trigger event_store_version_guard before insert on event_store for each row execute function event_store_version_guard()");
+    }
+}
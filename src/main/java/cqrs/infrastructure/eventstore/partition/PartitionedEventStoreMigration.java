@@ -0,0 +1,137 @@
+package cqrs.infrastructure.eventstore.partition;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flyway callback that turns the plain {@code event_store} created by the migrations into the partitioned table from
+ * {@link PartitionedEventStoreDdl} once migration is done. The existing rows are copied over with their ids, the
+ * identity continues after the highest one, and the old table is dropped, all in one transaction. Month partitions
+ * cover every month from the oldest row to {@code monthsAhead} months from now.
+ * <p>
+ * Runs on every migrate and does nothing once the table is partitioned. A table already partitioned differently is
+ * left alone; {@link EventStorePartitionMaintenance} refuses to start on one that is not partitioned by month when
+ * monthly partitioning is on. PostgreSQL only.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(EventStorePartitioningProperties.class)
+@ConditionalOnProperty(prefix = "app.eventstore.partitioning", name = "enabled", havingValue = "true")
+public class PartitionedEventStoreMigration implements Callback {
+    private static final String COLUMNS = "id, aggregate_id, event_id, event_type, event_data, event_version, created_at, "
+            + "correlation_id, causation_id, dictionary_id, compressed_data";
+
+    private final EventStorePartitioningProperties partitioning;
+
+    public PartitionedEventStoreMigration(EventStorePartitioningProperties partitioning) {
+        this.partitioning = partitioning;
+    }
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    /**
+     * The conversion commits or rolls back on its own.
+     */
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return false;
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "partitionEventStore";
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        Connection connection = context.getConnection();
+        try {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                throw new IllegalStateException("app.eventstore.partitioning needs PostgreSQL, not "
+                        + connection.getMetaData().getDatabaseProductName());
+            }
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            if (partitionStrategy(jdbcTemplate) != null) {
+                return;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long rows = partition(jdbcTemplate);
+                connection.commit();
+                log.info("Event store partitioned. rows={}, hashPartitions={}, monthly={}",
+                        rows, partitioning.hashPartitions(), partitioning.monthly());
+            } catch (RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Partitioning event_store failed", e);
+        }
+    }
+
+    /**
+     * {@code 'h'} or {@code 'r'} for a table partitioned by hash or range, {@code null} for a plain one.
+     */
+    static String partitionStrategy(JdbcTemplate jdbcTemplate) {
+        List<String> strategies = jdbcTemplate.queryForList(
+                "select partstrat::text from pg_partitioned_table where partrelid = to_regclass('event_store')", String.class);
+        return strategies.isEmpty() ? null : strategies.get(0);
+    }
+
+    private long partition(JdbcTemplate jdbcTemplate) {
+        YearMonth current = YearMonth.now();
+        YearMonth first = month(jdbcTemplate.queryForObject("select min(created_at) from event_store", LocalDateTime.class), current);
+        YearMonth last = month(jdbcTemplate.queryForObject("select max(created_at) from event_store", LocalDateTime.class), current);
+        if (last.isBefore(current.plusMonths(partitioning.monthsAhead()))) {
+            last = current.plusMonths(partitioning.monthsAhead());
+        }
+
+        // The old table's constraint, index and identity names are needed by the new one.
+        List<String> statements = new ArrayList<>(List.of(
+                "alter table event_store rename to event_store_unpartitioned",
+                "alter table event_store_unpartitioned drop constraint event_store_pkey",
+                "alter table event_store_unpartitioned drop constraint uk_event_store_aggregate_version",
+                "alter table event_store_unpartitioned alter column id drop identity",
+                "drop index if exists idx_event_store_aggregate_created",
+                "drop index if exists idx_event_store_import_replay"));
+        statements.addAll(PartitionedEventStoreDdl.createUnguardedTable(partitioning, first));
+        if (partitioning.monthly()) {
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                statements.addAll(PartitionedEventStoreDdl.createMonthPartition(partitioning, month));
+            }
+        }
+        statements.forEach(jdbcTemplate::execute);
+
+        int rows = jdbcTemplate.update("insert into event_store (" + COLUMNS + ") select " + COLUMNS + " from event_store_unpartitioned");
+        jdbcTemplate.queryForObject(
+                "select setval(pg_get_serial_sequence('event_store', 'id'), coalesce(max(id), 0) + 1, false) from event_store", Long.class);
+        jdbcTemplate.execute("drop table event_store_unpartitioned");
+        PartitionedEventStoreDdl.versionGuard(partitioning).forEach(jdbcTemplate::execute);
+        return rows;
+    }
+
+    private static YearMonth month(LocalDateTime createdAt, YearMonth fallback) {
+        return createdAt == null ? fallback : YearMonth.from(createdAt);
+    }
+}
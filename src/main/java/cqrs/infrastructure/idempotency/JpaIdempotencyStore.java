@@ -0,0 +1,130 @@
+package cqrs.infrastructure.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.common.idempotency.IdempotencyStore;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link IdempotencyStore} backed by the {@code processed_command} table with an in-memory Bloom filter in front.
+ * A key the filter has seen is looked up first, which answers retries to this node without an insert.
+ * <p>
+ * Every other key is claimed by inserting its row unless one exists. The filter only knows the keys this node has
+ * seen since it started, so a retry sent to another node, or after a restart, gets here too: its insert finds the
+ * committed row, which is then read and returned. A retry racing the original blocks on the original's uncommitted
+ * row and fails on the primary key once it commits, like any other concurrent modification; retrying it then reads
+ * the result.
+ */
+@Slf4j
+@Component
+public class JpaIdempotencyStore implements IdempotencyStore {
+    private static final String CLAIM_SQL = """
+            insert into processed_command (idempotency_key, processed_at)
+            select ?, ? where not exists (select 1 from processed_command where idempotency_key = ?)
+            """;
+    private static final String RECORD_SQL = """
+            update processed_command
+            set aggregate_id = ?, aggregate_version = ?, result_type = ?, result_data = ?, processed_at = ?
+            where idempotency_key = ?
+            """;
+
+    private final ProcessedCommandJpaRepository repository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final BloomFilter seenKeys;
+
+    public JpaIdempotencyStore(
+            ProcessedCommandJpaRepository repository,
+            ObjectMapper objectMapper,
+            DataSource dataSource,
+            @Value("${app.idempotency.expected-keys:1000000}") long expectedKeys,
+            @Value("${app.idempotency.false-positive-probability:0.01}") double falsePositiveProbability
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.seenKeys = new BloomFilter(expectedKeys, falsePositiveProbability);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadProcessedKeys() {
+        long count;
+        try (Stream<String> keys = repository.streamAllKeys()) {
+            count = keys.peek(seenKeys::put).count();
+        }
+        log.info("Idempotency filter loaded. keys={}", count);
+    }
+
+    @Override
+    public <T> Optional<T> claim(String command, String idempotencyKey, Class<T> resultType) {
+        String key = scoped(command, idempotencyKey);
+        if (seenKeys.mightContain(key)) {
+            Optional<T> processed = find(key, resultType);
+            if (processed.isPresent()) {
+                return processed;
+            }
+        }
+        seenKeys.put(key);
+        if (jdbcTemplate.update(CLAIM_SQL, key, LocalDateTime.now(), key) == 1) {
+            return Optional.empty();
+        }
+        // Rows only become visible with the result their transaction recorded.
+        return Optional.of(find(key, resultType).orElseThrow(
+                () -> new IllegalStateException("Idempotency key " + idempotencyKey + " is claimed but has no result")));
+    }
+
+    @Override
+    public void record(String command, String idempotencyKey, UUID aggregateId, int aggregateVersion, Object result) {
+        int updated = jdbcTemplate.update(RECORD_SQL, aggregateId, aggregateVersion, result.getClass().getName(),
+                serialize(result), LocalDateTime.now(), scoped(command, idempotencyKey));
+        if (updated == 0) {
+            throw new IllegalStateException("Idempotency key " + idempotencyKey + " was not claimed by " + command);
+        }
+    }
+
+    private static String scoped(String command, String idempotencyKey) {
+        return command + ":" + idempotencyKey;
+    }
+
+    private <T> Optional<T> find(String key, Class<T> resultType) {
+        return repository.findById(key)
+                .filter(entity -> entity.getResultType() != null)
+                .map(entity -> deserialize(entity, resultType));
+    }
+
+    private String serialize(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Command result serialization failed", e);
+        }
+    }
+
+    private <T> T deserialize(ProcessedCommandEntity entity, Class<T> resultType) {
+        if (!resultType.getName().equals(entity.getResultType())) {
+            throw new IllegalStateException("Idempotency key " + entity.getIdempotencyKey()
+                    + " was already used for a command with result " + entity.getResultType());
+        }
+        try {
+            return objectMapper.readValue(entity.getResultData(), resultType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Command result deserialization failed", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cqrs.infrastructure.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "processed_command")
+public class ProcessedCommandEntity {
+
+    @Id
+    private String idempotencyKey;
+
+    /**
+     * Null while the key is claimed by a transaction that has not recorded its result yet.
+     */
+    private UUID aggregateId;
+
+    private Integer aggregateVersion;
+
+    private String resultType;
+
+    @Column(columnDefinition = "TEXT")
+    private String resultData;
+
+    @Column(nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,12 @@
+package cqrs.infrastructure.idempotency;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ProcessedCommandJpaRepository extends JpaRepository<ProcessedCommandEntity, String> {
+
+    @Query("select p.idempotencyKey from ProcessedCommandEntity p")
+    Stream<String> streamAllKeys();
+}
@@ -0,0 +1,31 @@
+package cqrs.infrastructure.r2dbc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * Enabled with {@code app.reactive.enabled=true}. The reactive pipeline shares the schema with the JPA side through
+ * {@code spring.r2dbc.*}. Its transaction manager is deliberately not a bean: a second {@code TransactionManager}
+ * would make {@code @Transactional} on the blocking services ambiguous, which is also why
+ * {@code R2dbcTransactionManagerAutoConfiguration} is excluded.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class R2dbcConfiguration {
+
+    @Bean
+    DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
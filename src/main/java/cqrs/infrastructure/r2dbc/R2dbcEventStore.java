@@ -0,0 +1,137 @@
+package cqrs.infrastructure.r2dbc;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.common.Event;
+import cqrs.common.ReactiveEventStore;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.tracing.Correlation;
+import cqrs.common.tracing.CorrelationContext;
+import cqrs.infrastructure.archive.EventArchive;
+import cqrs.infrastructure.compression.PayloadCodec;
+import cqrs.infrastructure.compression.PayloadKind;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class R2dbcEventStore implements ReactiveEventStore {
+    private static final String INSERT = """
+            insert into event_store (aggregate_id, event_id, event_type, event_data, dictionary_id, compressed_data,
+                                     event_version, created_at, correlation_id, causation_id)
+            values (:aggregateId, :eventId, :eventType, :eventData, :dictionaryId, :compressedData,
+                    :eventVersion, :createdAt, :correlationId, :causationId)
+            """;
+    private static final String SELECT_AFTER = """
+            select event_type, event_data, dictionary_id, compressed_data, event_version from event_store
+            where aggregate_id = :aggregateId and event_version > :afterVersion
+            order by event_version
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final EventSourcingMetrics metrics;
+    private final EventArchive archive;
+    private final PayloadCodec codec;
+
+    @Override
+    public Mono<Void> saveAll(UUID aggregateId, List<Event> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        // The correlation is thread-bound, so it is only picked up when the append is assembled on the calling thread.
+        Correlation correlation = CorrelationContext.current().orElse(null);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            // A duplicate (aggregate_id, event_version) fails with DataIntegrityViolationException,
+            // the same concurrent-modification signal the JPA store raises.
+            return Flux.fromIterable(events)
+                    .concatMap(event -> insert(aggregateId, event, correlation))
+                    .then(Mono.fromRunnable(() -> metrics.recordAppend(start, events.size())));
+        });
+    }
+
+    @Override
+    public Flux<Event> load(UUID aggregateId) {
+        return load(aggregateId, -1);
+    }
+
+    @Override
+    public Flux<Event> load(UUID aggregateId, int afterVersion) {
+        return databaseClient.sql(SELECT_AFTER)
+                .bind("aggregateId", aggregateId)
+                .bind("afterVersion", afterVersion)
+                .map((row, metadata) -> new StoredEvent(
+                        row.get("event_type", String.class),
+                        codec.decode(row.get("event_data", String.class), row.get("dictionary_id", Integer.class), row.get("compressed_data", byte[].class)),
+                        row.get("event_version", Integer.class)))
+                .all()
+                .collectList()
+                .flatMapMany(hot -> withArchived(aggregateId, afterVersion, hot));
+    }
+
+    private Mono<Long> insert(UUID aggregateId, Event event, Correlation correlation) {
+        String eventData = serializeEvent(event);
+        metrics.recordEventPayload(eventData);
+        GenericExecuteSpec spec = databaseClient.sql(INSERT)
+                .bind("aggregateId", aggregateId)
+                .bind("eventId", event.eventId())
+                .bind("eventType", event.getClass().getName())
+                .bind("eventVersion", event.version())
+                .bind("createdAt", event.timestamp());
+        spec = R2dbcPayloads.bind(spec, "eventData", codec.encode(PayloadKind.EVENT, eventData));
+        spec = correlation == null
+                ? spec.bindNull("correlationId", UUID.class).bindNull("causationId", UUID.class)
+                : spec.bind("correlationId", correlation.correlationId()).bind("causationId", correlation.causationId());
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * Same rule as the JPA store: the archive is only read when the hot rows do not start right after
+     * {@code afterVersion}. The archive is JPA-backed, so that rare read runs on the bounded elastic scheduler.
+     */
+    private Flux<Event> withArchived(UUID aggregateId, int afterVersion, List<StoredEvent> hot) {
+        Flux<Event> hotEvents = Flux.fromIterable(hot).map(stored -> deserializeEvent(stored.eventType(), stored.eventData()));
+        int firstHotVersion = hot.isEmpty() ? Integer.MAX_VALUE : hot.get(0).eventVersion();
+        if (firstHotVersion <= afterVersion + 1) {
+            return hotEvents;
+        }
+        Flux<Event> archived = Mono.fromCallable(() -> archive.load(aggregateId, afterVersion, firstHotVersion))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(events -> events)
+                .map(event -> deserializeEvent(event.eventType(), event.eventData()));
+        return archived.concatWith(hotEvents);
+    }
+
+    private String serializeEvent(Event event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event serialization failed", e);
+        }
+    }
+
+    private Event deserializeEvent(String eventType, String eventData) {
+        try {
+            Class<?> clazz = Class.forName(eventType);
+            return (Event) objectMapper.readValue(eventData, clazz);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Event deserialization failed", e);
+        }
+    }
+
+    private record StoredEvent(String eventType, String eventData, int eventVersion) {
+    }
+}
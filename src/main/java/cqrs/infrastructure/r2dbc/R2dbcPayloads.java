@@ -0,0 +1,25 @@
+package cqrs.infrastructure.r2dbc;
+
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+
+import cqrs.infrastructure.compression.EncodedPayload;
+
+final class R2dbcPayloads {
+
+    private R2dbcPayloads() {
+    }
+
+    /**
+     * Binds {@code :<dataParameter>}, {@code :dictionaryId} and {@code :compressedData}; the unused ones are bound to null.
+     */
+    static GenericExecuteSpec bind(GenericExecuteSpec spec, String dataParameter, EncodedPayload payload) {
+        if (payload.dictionaryId() == null) {
+            return spec.bind(dataParameter, payload.plain())
+                    .bindNull("dictionaryId", Integer.class)
+                    .bindNull("compressedData", byte[].class);
+        }
+        return spec.bindNull(dataParameter, String.class)
+                .bind("dictionaryId", payload.dictionaryId())
+                .bind("compressedData", payload.compressed());
+    }
+}
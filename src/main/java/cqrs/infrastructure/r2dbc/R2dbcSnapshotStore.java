@@ -0,0 +1,110 @@
+package cqrs.infrastructure.r2dbc;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.common.snapshot.ReactiveSnapshotStore;
+import cqrs.infrastructure.compression.PayloadCodec;
+import cqrs.infrastructure.compression.PayloadKind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class R2dbcSnapshotStore<T extends IsSnapshotData> implements ReactiveSnapshotStore<T> {
+    private static final String SELECT_LATEST = """
+            select snapshot_type, snapshot_data, dictionary_id, compressed_data from snapshot
+            where aggregate_id = :aggregateId
+            order by version desc
+            limit 1
+            """;
+    private static final String INSERT = """
+            insert into snapshot (aggregate_id, version, snapshot_type, snapshot_data, dictionary_id, compressed_data, created_at)
+            values (:aggregateId, :version, :snapshotType, :snapshotData, :dictionaryId, :compressedData, :createdAt)
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final EventSourcingMetrics metrics;
+    private final PayloadCodec codec;
+
+    @Override
+    public Mono<T> findLatest(UUID aggregateId, Class<T> snapshotType) {
+        return databaseClient.sql(SELECT_LATEST)
+                .bind("aggregateId", aggregateId)
+                .map((row, metadata) -> Optional.of(new StoredSnapshot(
+                        row.get("snapshot_type", String.class),
+                        codec.decode(row.get("snapshot_data", String.class), row.get("dictionary_id", Integer.class), row.get("compressed_data", byte[].class)))))
+                .one()
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(stored -> {
+                    if (stored.isEmpty()) {
+                        metrics.snapshotMiss();
+                        return Mono.empty();
+                    }
+                    Optional<T> snapshot = deserialize(aggregateId, stored.get(), snapshotType);
+                    if (snapshot.isPresent()) {
+                        metrics.snapshotHit();
+                    } else {
+                        metrics.snapshotDeserializeFailure();
+                    }
+                    return Mono.justOrEmpty(snapshot);
+                });
+    }
+
+    @Override
+    public Mono<Void> save(T snapshot) {
+        return Mono.fromCallable(() -> serialize(snapshot))
+                .map(snapshotData -> codec.encode(PayloadKind.SNAPSHOT, snapshotData))
+                .flatMap(payload -> R2dbcPayloads.bind(databaseClient.sql(INSERT), "snapshotData", payload)
+                        .bind("aggregateId", snapshot.getAggregateId())
+                        .bind("version", snapshot.getVersion())
+                        .bind("snapshotType", snapshot.getClass().getName())
+                        .bind("createdAt", LocalDateTime.now())
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+
+    private String serialize(T snapshot) {
+        try {
+            String snapshotData = objectMapper.writeValueAsString(snapshot);
+            metrics.recordSnapshotPayload(snapshotData);
+            return snapshotData;
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing snapshot for aggregateId: {}", snapshot.getAggregateId(), e);
+            throw new RuntimeException("Failed to serialize snapshot", e);
+        }
+    }
+
+    private Optional<T> deserialize(UUID aggregateId, StoredSnapshot stored, Class<T> snapshotType) {
+        try {
+            Class<?> actualSnapshotClass = Class.forName(stored.snapshotType());
+            if (!snapshotType.isAssignableFrom(actualSnapshotClass)) {
+                log.error("Requested snapshot type {} is not assignable from stored type {}", snapshotType.getName(), actualSnapshotClass.getName());
+                return Optional.empty();
+            }
+            return Optional.of(snapshotType.cast(objectMapper.readValue(stored.snapshotData(), actualSnapshotClass)));
+        } catch (IOException | ClassNotFoundException e) {
+            log.error("Error deserializing snapshot for aggregateId: {}", aggregateId, e);
+            return Optional.empty();
+        }
+    }
+
+    private record StoredSnapshot(String snapshotType, String snapshotData) {
+    }
+}
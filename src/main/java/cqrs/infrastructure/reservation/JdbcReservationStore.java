@@ -0,0 +1,39 @@
+package cqrs.infrastructure.reservation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import cqrs.common.reservation.ReservationStore;
+
+/**
+ * {@link ReservationStore} backed by the primary key of {@code unique_reservation}. A claim is a single insert, so
+ * checking and claiming cost one round trip, and two concurrent claims of the same value cannot both succeed:
+ * the second blocks on the first's uncommitted row and fails once it commits.
+ */
+@Component
+public class JdbcReservationStore implements ReservationStore {
+    private static final String INSERT_SQL =
+            "insert into unique_reservation (scope, reserved_value, owner_id, reserved_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcReservationStore(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public boolean reserve(String scope, String value, UUID ownerId) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, scope, value, ownerId, LocalDateTime.now());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
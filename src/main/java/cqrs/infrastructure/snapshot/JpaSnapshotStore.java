@@ -1,6 +1,10 @@
 package cqrs.infrastructure.snapshot;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,8 +16,12 @@ import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import cqrs.common.metrics.EventSourcingMetrics;
 import cqrs.common.snapshot.IsSnapshotData;
 import cqrs.common.snapshot.SnapshotStore;
+import cqrs.infrastructure.compression.EncodedPayload;
+import cqrs.infrastructure.compression.PayloadCodec;
+import cqrs.infrastructure.compression.PayloadKind;
 import lombok.RequiredArgsConstructor;
 
 @Component
@@ -24,36 +32,82 @@ public class JpaSnapshotStore<T extends IsSnapshotData> implements SnapshotStore
     private static final Logger logger = LoggerFactory.getLogger(JpaSnapshotStore.class);
     private final SnapshotJpaRepository snapshotJpaRepository;
     private final ObjectMapper objectMapper;
+    private final EventSourcingMetrics metrics;
+    private final PayloadCodec codec;
 
     @Override
     public Optional<T> findLatest(UUID aggregateId, Class<T> snapshotType) {
-        return snapshotJpaRepository.findById(aggregateId)
-                .flatMap(entity -> {
-                    try {
-                        @SuppressWarnings("unchecked")
-                        Class<? extends T> actualSnapshotClass = (Class<? extends T>) Class.forName(entity.getSnapshotType());
-                        if (!snapshotType.isAssignableFrom(actualSnapshotClass)) {
-                            logger.error("Requested snapshot type {} is not assignable from stored type {}", snapshotType.getName(), actualSnapshotClass.getName());
-                            return Optional.empty();
-                        }
-                        T snapshot = objectMapper.readValue(entity.getSnapshotData(), actualSnapshotClass);
-                        return Optional.of(snapshot);
-                    } catch (IOException | ClassNotFoundException e) {
-                        logger.error("Error deserializing snapshot for aggregateId: {}", aggregateId, e);
-                        return Optional.empty();
-                    }
-                });
+        return resolve(aggregateId, snapshotJpaRepository.findFirstByAggregateIdOrderByVersionDesc(aggregateId), snapshotType);
+    }
+
+    @Override
+    public Optional<T> findLatestAsOf(UUID aggregateId, LocalDateTime asOf, Class<T> snapshotType) {
+        return resolve(aggregateId,
+                snapshotJpaRepository.findFirstByAggregateIdAndCreatedAtLessThanEqualOrderByVersionDesc(aggregateId, asOf),
+                snapshotType);
+    }
+
+    @Override
+    public Map<UUID, T> loadMany(Collection<UUID> aggregateIds, Class<T> snapshotType) {
+        Map<UUID, T> snapshots = new HashMap<>();
+        if (aggregateIds.isEmpty()) {
+            return snapshots;
+        }
+        Map<UUID, SnapshotEntity> stored = new HashMap<>();
+        for (SnapshotEntity entity : snapshotJpaRepository.findLatestByAggregateIdIn(aggregateIds)) {
+            stored.putIfAbsent(entity.getAggregateId(), entity);
+        }
+        for (UUID aggregateId : aggregateIds) {
+            resolve(aggregateId, Optional.ofNullable(stored.get(aggregateId)), snapshotType)
+                    .ifPresent(snapshot -> snapshots.put(aggregateId, snapshot));
+        }
+        return snapshots;
+    }
+
+    private Optional<T> resolve(UUID aggregateId, Optional<SnapshotEntity> stored, Class<T> snapshotType) {
+        if (stored.isEmpty()) {
+            metrics.snapshotMiss();
+            return Optional.empty();
+        }
+        Optional<T> snapshot = deserialize(aggregateId, stored.get(), snapshotType);
+        if (snapshot.isPresent()) {
+            metrics.snapshotHit();
+        } else {
+            metrics.snapshotDeserializeFailure();
+        }
+        return snapshot;
+    }
+
+    private Optional<T> deserialize(UUID aggregateId, SnapshotEntity entity, Class<T> snapshotType) {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends T> actualSnapshotClass = (Class<? extends T>) Class.forName(entity.getSnapshotType());
+            if (!snapshotType.isAssignableFrom(actualSnapshotClass)) {
+                logger.error("Requested snapshot type {} is not assignable from stored type {}", snapshotType.getName(), actualSnapshotClass.getName());
+                return Optional.empty();
+            }
+            String snapshotData = codec.decode(entity.getSnapshotData(), entity.getDictionaryId(), entity.getCompressedData());
+            return Optional.of(objectMapper.readValue(snapshotData, actualSnapshotClass));
+        } catch (IOException | ClassNotFoundException e) {
+            logger.error("Error deserializing snapshot for aggregateId: {}", aggregateId, e);
+            return Optional.empty();
+        }
     }
 
     @Override
     public void save(T snapshot) {
         try {
             String snapshotData = objectMapper.writeValueAsString(snapshot);
+            metrics.recordSnapshotPayload(snapshotData);
+            EncodedPayload encoded = codec.encode(PayloadKind.SNAPSHOT, snapshotData);
             SnapshotEntity entity = new SnapshotEntity(
                     snapshot.getAggregateId(),
                     snapshot.getVersion(),
                     snapshot.getClass().getName(),
-                    snapshotData
+                    encoded.plain(),
+                    LocalDateTime.now(),
+                    encoded.dictionaryId(),
+                    encoded.compressed()
             );
             snapshotJpaRepository.save(entity);
         } catch (JsonProcessingException e) {
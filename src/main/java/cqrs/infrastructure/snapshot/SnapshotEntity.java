@@ -1,11 +1,18 @@
 package cqrs.infrastructure.snapshot;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.Length;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,11 +20,18 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "snapshot")
+@Table(
+        name = "snapshot",
+        indexes = @Index(name = "idx_snapshot_aggregate_created", columnList = "aggregateId, createdAt"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_aggregate_version", columnNames = {"aggregateId", "version"})
+)
 public class SnapshotEntity {
 
     @Id
-    @Column(columnDefinition = "BINARY(16)")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
     private UUID aggregateId;
 
     @Column(nullable = false)
@@ -26,19 +40,35 @@ public class SnapshotEntity {
     @Column(nullable = false)
     private String snapshotType;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    /**
+     * Plain JSON, or null when the payload is stored in {@code compressedData}.
+     */
+    @Column(columnDefinition = "TEXT")
     private String snapshotData;
 
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private Integer dictionaryId;
+
+    @Column(length = Length.LONG32)
+    private byte[] compressedData;
 
     public SnapshotEntity(
             UUID aggregateId,
             int version,
             String snapshotType,
-            String snapshotData
+            String snapshotData,
+            LocalDateTime createdAt,
+            Integer dictionaryId,
+            byte[] compressedData
     ) {
         this.aggregateId = aggregateId;
         this.version = version;
         this.snapshotType = snapshotType;
         this.snapshotData = snapshotData;
+        this.createdAt = createdAt;
+        this.dictionaryId = dictionaryId;
+        this.compressedData = compressedData;
     }
 }
@@ -1,10 +1,26 @@
 package cqrs.infrastructure.snapshot;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface SnapshotJpaRepository extends JpaRepository<SnapshotEntity, UUID> {
+public interface SnapshotJpaRepository extends JpaRepository<SnapshotEntity, Long> {
+    Optional<SnapshotEntity> findFirstByAggregateIdOrderByVersionDesc(UUID aggregateId);
+
+    Optional<SnapshotEntity> findFirstByAggregateIdAndCreatedAtLessThanEqualOrderByVersionDesc(UUID aggregateId, LocalDateTime createdAt);
+
+    @Query("""
+            select s from SnapshotEntity s
+            where s.aggregateId in :aggregateIds
+              and s.version = (select max(l.version) from SnapshotEntity l where l.aggregateId = s.aggregateId)
+            """)
+    List<SnapshotEntity> findLatestByAggregateIdIn(@Param("aggregateIds") Collection<UUID> aggregateIds);
 }
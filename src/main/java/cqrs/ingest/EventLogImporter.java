@@ -0,0 +1,464 @@
+package cqrs.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.common.snapshot.SnapshotFactory;
+import cqrs.common.snapshot.SnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Restores events into {@code event_store} without going through the command services.
+ * Input is NDJSON in the shape written by the event export. Events are partitioned by aggregate id across
+ * {@code app.import.workers} writers; each writer checks that its aggregates' versions start at 0 and have no gaps,
+ * and inserts them with JDBC batches of {@code app.import.batch-size} rows, one transaction per batch.
+ * Snapshots are written after all events are in, one per imported aggregate. Only with {@code app.import.offline=true},
+ * when nothing else is using the store, is the secondary {@code (aggregate_id, created_at)} index dropped for the
+ * load and rebuilt once at the end.
+ * Each imported account claims its number in {@code unique_reservation} in the batch that inserts its creation.
+ * Meant for aggregates that are not in the store yet; a clash on {@code (aggregate_id, event_version)} or on an
+ * account number aborts the import. An import that fails before its replay removes the events, snapshots and
+ * reservations it had already committed, so the same input can be imported again once the problem is fixed.
+ */
+@Slf4j
+@Component
+public class EventLogImporter {
+    private static final String INSERT = """
+            insert into event_store (aggregate_id, event_id, event_type, event_data, event_version, created_at, correlation_id, causation_id)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String RESERVE =
+            "insert into unique_reservation (scope, reserved_value, owner_id, reserved_at) values (?, ?, ?, ?)";
+    private static final String DEFERRED_INDEX = "idx_event_store_aggregate_created";
+    private static final String REPLAY_INDEX = "idx_event_store_import_replay";
+    // Aggregates that already had rows when the import started are not the import's to remove.
+    private static final String PRE_EXISTING = "exists (select 1 from event_store o where o.aggregate_id = ? and o.id <= ?)";
+    private static final String DISCARD_EVENTS = "delete from event_store where aggregate_id = ? and id > ? and not " + PRE_EXISTING;
+    private static final String DISCARD_SNAPSHOTS = "delete from snapshot where aggregate_id = ? and not " + PRE_EXISTING;
+    private static final String DISCARD_RESERVATION =
+            "delete from unique_reservation where scope = ? and reserved_value = ? and owner_id = ? and not " + PRE_EXISTING;
+    private static final ImportedEvent END = new ImportedEvent(null, null, null, null, -1, null, null, null, null);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EventStore eventStore;
+    private final SnapshotStore<IsSnapshotData> snapshotStore;
+    private final List<SnapshotFactory> snapshotFactories;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int workers;
+    private final int batchSize;
+    private final boolean offline;
+    private final Map<String, Class<?>> eventTypes = new ConcurrentHashMap<>();
+
+    public EventLogImporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            EventStore eventStore,
+            SnapshotStore<IsSnapshotData> snapshotStore,
+            List<SnapshotFactory> snapshotFactories,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.import.workers:4}") int workers,
+            @Value("${app.import.batch-size:1000}") int batchSize,
+            @Value("${app.import.offline:false}") boolean offline
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventStore = eventStore;
+        this.snapshotStore = snapshotStore;
+        this.snapshotFactories = snapshotFactories;
+        this.eventPublisher = eventPublisher;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.offline = offline;
+    }
+
+    /**
+     * Imports every event in {@code ndjson}. With {@code rebuildReadModels} the imported events are then
+     * published in {@code (created_at, id)} order so the projections build their rows, which is the slow part
+     * of a restore and can be skipped when read models are rebuilt separately.
+     */
+    public ImportReport importEvents(InputStream ndjson, boolean rebuildReadModels) {
+        long start = System.nanoTime();
+        long lastIdBefore = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from event_store", Long.class);
+        List<Partition> partitions = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            partitions.add(new Partition());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Map<UUID, String> dispatched = new LinkedHashMap<>();
+        if (offline) {
+            jdbcTemplate.execute("drop index if exists " + DEFERRED_INDEX);
+        }
+        try {
+            int snapshots;
+            try {
+                List<Future<?>> writers = new ArrayList<>(workers);
+                for (Partition partition : partitions) {
+                    writers.add(pool.submit(() -> partition.write(failure)));
+                }
+                dispatch(ndjson, partitions, failure, dispatched);
+                await(writers);
+                snapshots = writeSnapshots(pool, partitions);
+            } catch (RuntimeException e) {
+                stop(pool);
+                discard(lastIdBefore, dispatched);
+                throw e;
+            }
+            long events = partitions.stream().mapToLong(p -> p.imported).sum();
+            Map<UUID, Integer> importedVersions = new HashMap<>();
+            partitions.forEach(p -> importedVersions.putAll(p.lastVersions));
+            long replayed = rebuildReadModels ? replay(lastIdBefore, importedVersions) : 0;
+            ImportReport report = new ImportReport(events, importedVersions.size(), snapshots, replayed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Event import finished. {}", report);
+            return report;
+        } finally {
+            pool.shutdownNow();
+            if (offline) {
+                jdbcTemplate.execute("create index if not exists " + DEFERRED_INDEX + " on event_store (aggregate_id, created_at)");
+            }
+        }
+    }
+
+    /**
+     * Hands every event to its aggregate's writer and records in {@code dispatched} each aggregate with the account
+     * number it claims, if any.
+     */
+    private void dispatch(InputStream ndjson, List<Partition> partitions, AtomicReference<Throwable> failure,
+                          Map<UUID, String> dispatched) {
+        try (MappingIterator<JsonNode> lines = objectMapper.readerFor(JsonNode.class).readValues(ndjson)) {
+            while (lines.hasNext()) {
+                ImportedEvent event = parse(lines.next());
+                if (event.accountNumber() != null || !dispatched.containsKey(event.aggregateId())) {
+                    dispatched.put(event.aggregateId(), event.accountNumber());
+                }
+                partitions.get(Math.floorMod(event.aggregateId().hashCode(), workers)).offer(event, failure);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading import input failed", e);
+        }
+        for (Partition partition : partitions) {
+            partition.offer(END, failure);
+        }
+    }
+
+    private ImportedEvent parse(JsonNode line) {
+        String eventType = required(line, "event_type").asText();
+        Class<?> type = eventTypes.computeIfAbsent(eventType, this::resolveEventType);
+        JsonNode data = required(line, "event_data");
+        return new ImportedEvent(
+                UUID.fromString(required(line, "aggregate_id").asText()),
+                UUID.fromString(required(line, "event_id").asText()),
+                type.getName(),
+                data.isTextual() ? data.asText() : data.toString(),
+                required(line, "event_version").asInt(),
+                LocalDateTime.parse(required(line, "created_at").asText().replace(' ', 'T')),
+                optionalUuid(line, "correlation_id"),
+                optionalUuid(line, "causation_id"),
+                type == AccountCreatedEvent.class ? required(parseData(data), "accountNumber").asText() : null);
+    }
+
+    private JsonNode parseData(JsonNode data) {
+        if (!data.isTextual()) {
+            return data;
+        }
+        try {
+            return objectMapper.readTree(data.asText());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Import line has invalid event_data: " + data.asText(), e);
+        }
+    }
+
+    private Class<?> resolveEventType(String eventType) {
+        try {
+            Class<?> type = Class.forName(eventType);
+            if (!Event.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("Not an event type: " + eventType);
+            }
+            return type;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown event type: " + eventType);
+        }
+    }
+
+    private static JsonNode required(JsonNode line, String field) {
+        JsonNode value = line.get(field);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("Import line is missing " + field + ": " + line);
+        }
+        return value;
+    }
+
+    private static UUID optionalUuid(JsonNode line, String field) {
+        JsonNode value = line.get(field);
+        return value == null || value.isNull() || value.asText().isEmpty() ? null : UUID.fromString(value.asText());
+    }
+
+    private static void await(List<? extends Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Import failed", e.getCause());
+        }
+    }
+
+    /**
+     * Waits for the writers to give up, so nothing is committed behind the cleanup. A writer in the middle of a batch
+     * finishes it before it sees the interrupt.
+     */
+    private static void stop(ExecutorService pool) {
+        pool.shutdownNow();
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Import writers did not stop; the cleanup may miss their last batches");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Removes what a failed import committed for the aggregates it dispatched. Nothing has been projected yet at this
+     * point, so the events, snapshots and account number reservations are all there is.
+     */
+    private void discard(long lastIdBefore, Map<UUID, String> dispatched) {
+        List<Map.Entry<UUID, String>> aggregates = new ArrayList<>(dispatched.entrySet());
+        long removed = 0;
+        for (int from = 0; from < aggregates.size(); from += batchSize) {
+            List<Map.Entry<UUID, String>> chunk = aggregates.subList(from, Math.min(from + batchSize, aggregates.size()));
+            List<Object[]> snapshots = chunk.stream()
+                    .map(aggregate -> new Object[]{aggregate.getKey(), aggregate.getKey(), lastIdBefore})
+                    .toList();
+            List<Object[]> reservations = chunk.stream()
+                    .filter(aggregate -> aggregate.getValue() != null)
+                    .map(aggregate -> new Object[]{BankAccountCommandService.ACCOUNT_NUMBER_SCOPE, aggregate.getValue(),
+                            aggregate.getKey(), aggregate.getKey(), lastIdBefore})
+                    .toList();
+            List<Object[]> events = chunk.stream()
+                    .map(aggregate -> new Object[]{aggregate.getKey(), lastIdBefore, aggregate.getKey(), lastIdBefore})
+                    .toList();
+            removed += transactionTemplate.execute(status -> {
+                jdbcTemplate.batchUpdate(DISCARD_SNAPSHOTS, snapshots);
+                if (!reservations.isEmpty()) {
+                    jdbcTemplate.batchUpdate(DISCARD_RESERVATION, reservations);
+                }
+                return Arrays.stream(jdbcTemplate.batchUpdate(DISCARD_EVENTS, events)).asLongStream().sum();
+            });
+        }
+        log.warn("Event import failed, removed what it had written. aggregates={}, events={}", aggregates.size(), removed);
+    }
+
+    private int writeSnapshots(ExecutorService pool, List<Partition> partitions) {
+        List<Future<Integer>> results = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            results.add(pool.submit(() -> {
+                int written = 0;
+                for (Map.Entry<UUID, Integer> aggregate : partition.lastVersions.entrySet()) {
+                    if (aggregate.getValue() > 0 && writeSnapshot(aggregate.getKey())) {
+                        written++;
+                    }
+                }
+                return written;
+            }));
+        }
+        await(results);
+        return results.stream().mapToInt(Future::resultNow).sum();
+    }
+
+    private boolean writeSnapshot(UUID aggregateId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<Event> events = eventStore.load(aggregateId);
+            Optional<SnapshotFactory> factory = snapshotFactories.stream().filter(f -> f.supports(events.get(0))).findFirst();
+            factory.ifPresent(f -> snapshotStore.save(f.fromHistory(aggregateId, events)));
+            return factory.isPresent();
+        }));
+    }
+
+    /**
+     * Publishes the imported events to the projections in chunks, ordered by {@code (created_at, id)} so that
+     * cross-aggregate dependencies (a user before its accounts) are seen in the order they originally happened.
+     * A temporary index on that order keeps each chunk a range scan. Rows appended by live commands meanwhile were
+     * projected when they were written, so only the imported versions of the imported aggregates are published.
+     */
+    private long replay(long lastIdBefore, Map<UUID, Integer> importedVersions) {
+        jdbcTemplate.execute("create index if not exists " + REPLAY_INDEX + " on event_store (created_at, id)");
+        try {
+            long replayed = 0;
+            LocalDateTime afterCreatedAt = null;
+            long afterId = lastIdBefore;
+            while (true) {
+                List<StoredEvent> chunk = afterCreatedAt == null
+                        ? jdbcTemplate.query("""
+                                select id, aggregate_id, event_type, event_data, event_version, created_at from event_store
+                                where id > ? order by created_at, id limit ?
+                                """, (rs, i) -> StoredEvent.of(rs), lastIdBefore, batchSize)
+                        : jdbcTemplate.query("""
+                                select id, aggregate_id, event_type, event_data, event_version, created_at from event_store
+                                where id > ? and (created_at > ? or (created_at = ? and id > ?))
+                                order by created_at, id limit ?
+                                """, (rs, i) -> StoredEvent.of(rs), lastIdBefore, afterCreatedAt, afterCreatedAt, afterId, batchSize);
+                if (chunk.isEmpty()) {
+                    return replayed;
+                }
+                List<StoredEvent> imported = chunk.stream()
+                        .filter(stored -> stored.version() <= importedVersions.getOrDefault(stored.aggregateId(), -1))
+                        .toList();
+                transactionTemplate.executeWithoutResult(status -> imported.forEach(stored -> eventPublisher.publishEvent(deserialize(stored))));
+                replayed += imported.size();
+                StoredEvent last = chunk.get(chunk.size() - 1);
+                afterCreatedAt = last.createdAt();
+                afterId = last.id();
+            }
+        } finally {
+            jdbcTemplate.execute("drop index if exists " + REPLAY_INDEX);
+        }
+    }
+
+    private Event deserialize(StoredEvent stored) {
+        try {
+            return (Event) objectMapper.readValue(stored.eventData(), eventTypes.computeIfAbsent(stored.eventType(), this::resolveEventType));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Event deserialization failed for id " + stored.id(), e);
+        }
+    }
+
+    /**
+     * One writer's share of the aggregates. Only its own thread touches {@code lastVersions} and {@code batch}
+     * until the writer finishes.
+     */
+    private class Partition {
+        private final BlockingQueue<ImportedEvent> queue = new ArrayBlockingQueue<>(batchSize * 2);
+        private final Map<UUID, Integer> lastVersions = new HashMap<>();
+        private final List<Object[]> batch = new ArrayList<>(batchSize);
+        private final List<Object[]> reservations = new ArrayList<>();
+        private long imported;
+
+        void offer(ImportedEvent event, AtomicReference<Throwable> failure) {
+            try {
+                while (!queue.offer(event, 100, TimeUnit.MILLISECONDS)) {
+                    Throwable cause = failure.get();
+                    if (cause instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    if (cause != null) {
+                        throw new IllegalStateException("Import aborted", cause);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import interrupted", e);
+            }
+        }
+
+        void write(AtomicReference<Throwable> failure) {
+            try {
+                for (ImportedEvent event = queue.take(); event != END; event = queue.take()) {
+                    int expected = lastVersions.getOrDefault(event.aggregateId(), -1) + 1;
+                    if (event.version() != expected) {
+                        throw new IllegalArgumentException(String.format(
+                                "Version gap for aggregate %s: expected %d, got %d", event.aggregateId(), expected, event.version()));
+                    }
+                    lastVersions.put(event.aggregateId(), event.version());
+                    batch.add(event.toRow());
+                    if (event.accountNumber() != null) {
+                        reservations.add(new Object[]{BankAccountCommandService.ACCOUNT_NUMBER_SCOPE, event.accountNumber(),
+                                event.aggregateId(), event.createdAt()});
+                    }
+                    if (batch.size() == batchSize) {
+                        flush();
+                    }
+                }
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                if (!reservations.isEmpty()) {
+                    jdbcTemplate.batchUpdate(RESERVE, reservations);
+                }
+            });
+            imported += batch.size();
+            batch.clear();
+            reservations.clear();
+        }
+    }
+
+    /**
+     * {@code accountNumber} is set for an {@link AccountCreatedEvent} only.
+     */
+    private record ImportedEvent(UUID aggregateId, UUID eventId, String eventType, String eventData, int version,
+                                 LocalDateTime createdAt, UUID correlationId, UUID causationId, String accountNumber) {
+        Object[] toRow() {
+            return new Object[]{aggregateId, eventId, eventType, eventData, version, createdAt, correlationId, causationId};
+        }
+    }
+
+    private record StoredEvent(long id, UUID aggregateId, String eventType, String eventData, int version, LocalDateTime createdAt) {
+        static StoredEvent of(ResultSet rs) throws SQLException {
+            return new StoredEvent(rs.getLong("id"), rs.getObject("aggregate_id", UUID.class), rs.getString("event_type"),
+                    rs.getString("event_data"), rs.getInt("event_version"), rs.getObject("created_at", LocalDateTime.class));
+        }
+    }
+}
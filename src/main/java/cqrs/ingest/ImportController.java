@@ -0,0 +1,22 @@
+package cqrs.ingest;
+
+import java.io.InputStream;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+    private final EventLogImporter importer;
+
+    @PostMapping(path = "/events", consumes = {"application/x-ndjson", "application/octet-stream"})
+    public ImportReport events(InputStream body, @RequestParam(defaultValue = "true") boolean rebuildReadModels) {
+        return importer.importEvents(body, rebuildReadModels);
+    }
+}
@@ -0,0 +1,4 @@
+package cqrs.ingest;
+
+public record ImportReport(long events, int aggregates, int snapshots, long replayedEvents, long elapsedMillis) {
+}
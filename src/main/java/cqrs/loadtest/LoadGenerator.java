@@ -0,0 +1,162 @@
+package cqrs.loadtest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.command.BankAccountTransferCommand;
+import cqrs.bankaccount.command.BankAccountWithdrawCommand;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a deposit/withdraw/transfer mix against {@link BankAccountCommandService} from virtual threads,
+ * picking accounts from a Zipf distribution so a few hot accounts absorb most of the traffic.
+ * <p>
+ * A command that loses the race for the next event version is retried up to {@code maxRetries} times;
+ * business rejections such as insufficient funds are counted but not retried.
+ */
+@Slf4j
+public class LoadGenerator {
+    private static final BigDecimal MIN_AMOUNT = BigDecimal.TEN;
+
+    private final BankAccountCommandService commandService;
+    private final UserCommandService userCommandService;
+    private final LoadTestProperties properties;
+    private final EventSourcingMetrics metrics;
+
+    LoadGenerator(BankAccountCommandService commandService, UserCommandService userCommandService,
+                  LoadTestProperties properties, EventSourcingMetrics metrics) {
+        this.commandService = commandService;
+        this.userCommandService = userCommandService;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    public LoadTestReport run() {
+        List<String> accountNumbers = createAccounts();
+        ZipfianGenerator zipf = new ZipfianGenerator(accountNumbers.size(), properties.skew());
+        Histogram latency = new ConcurrentHistogram(3);
+        Counters counters = new Counters();
+        AtomicLong remaining = new AtomicLong(properties.operations());
+        long snapshotHitsBefore = metrics.snapshotHitCount();
+        long snapshotMissesBefore = metrics.snapshotMissCount();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < properties.threads(); i++) {
+                executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        Runnable command = nextCommand(accountNumbers, zipf);
+                        long commandStart = System.nanoTime();
+                        execute(command, counters);
+                        latency.recordValue((System.nanoTime() - commandStart) / 1_000);
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        LoadTestReport report = new LoadTestReport(
+                latency.getTotalCount(),
+                counters.succeeded.sum(),
+                counters.rejected.sum(),
+                counters.failed.sum(),
+                counters.conflicts.sum(),
+                counters.retries.sum(),
+                elapsed,
+                latency.getValueAtPercentile(50),
+                latency.getValueAtPercentile(99),
+                latency.getValueAtPercentile(99.9),
+                latency.getMaxValue(),
+                metrics.snapshotHitCount() - snapshotHitsBefore,
+                metrics.snapshotMissCount() - snapshotMissesBefore
+        );
+        log.info("Load test finished. {}", report.summary());
+        return report;
+    }
+
+    private List<String> createAccounts() {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("Load Test " + runId)).getUserId();
+        List<String> accountNumbers = new ArrayList<>(properties.accounts());
+        for (int i = 0; i < properties.accounts(); i++) {
+            String accountNumber = "LT-" + runId + "-" + i;
+            commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Load Test " + i, userId));
+            if (properties.initialBalance().compareTo(MIN_AMOUNT) >= 0) {
+                commandService.deposit(new BankAccountDepositCommand(accountNumber, properties.initialBalance()));
+            }
+            accountNumbers.add(accountNumber);
+        }
+        log.info("Load test accounts created. runId={}, accounts={}", runId, accountNumbers.size());
+        return accountNumbers;
+    }
+
+    private Runnable nextCommand(List<String> accountNumbers, ZipfianGenerator zipf) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(10, 100));
+        int from = zipf.next();
+        int pick = random.nextInt(properties.depositWeight() + properties.withdrawWeight() + properties.transferWeight());
+
+        if (pick < properties.depositWeight()) {
+            BankAccountDepositCommand command = new BankAccountDepositCommand(accountNumbers.get(from), amount);
+            return () -> commandService.deposit(command);
+        }
+        if (pick < properties.depositWeight() + properties.withdrawWeight()) {
+            BankAccountWithdrawCommand command = new BankAccountWithdrawCommand(accountNumbers.get(from), amount);
+            return () -> commandService.withdraw(command);
+        }
+        int to = zipf.nextExcluding(from);
+        BankAccountTransferCommand command = new BankAccountTransferCommand(accountNumbers.get(from), accountNumbers.get(to), amount);
+        return () -> commandService.transfer(command);
+    }
+
+    private void execute(Runnable command, Counters counters) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                command.run();
+                counters.succeeded.increment();
+                return;
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+                counters.conflicts.increment();
+                if (attempt >= properties.maxRetries()) {
+                    counters.failed.increment();
+                    return;
+                }
+                counters.retries.increment();
+            } catch (IllegalArgumentException e) {
+                counters.rejected.increment();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Load test command failed", e);
+                counters.failed.increment();
+                return;
+            }
+        }
+    }
+
+    private static class Counters {
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder retries = new LongAdder();
+    }
+}
@@ -0,0 +1,33 @@
+package cqrs.loadtest;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.user.command.UserCommandService;
+
+/**
+ * Enabled with {@code loadtest.enabled=true}. With {@code loadtest.run-on-startup=true} the application runs
+ * one load test against its own datasource after startup; otherwise tests can inject {@link LoadGenerator}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "loadtest", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfiguration {
+
+    @Bean
+    LoadGenerator loadGenerator(BankAccountCommandService commandService, UserCommandService userCommandService,
+                                LoadTestProperties properties, EventSourcingMetrics metrics) {
+        return new LoadGenerator(commandService, userCommandService, properties, metrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "loadtest", name = "run-on-startup", havingValue = "true")
+    ApplicationRunner loadTestRunner(LoadGenerator loadGenerator) {
+        return args -> loadGenerator.run();
+    }
+}
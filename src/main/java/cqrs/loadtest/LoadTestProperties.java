@@ -0,0 +1,34 @@
+package cqrs.loadtest;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("loadtest")
+public record LoadTestProperties(
+        @DefaultValue("false") boolean runOnStartup,
+        @DefaultValue("1000") int accounts,
+        @DefaultValue("64") int threads,
+        @DefaultValue("100000") int operations,
+        @DefaultValue("0.99") double skew,
+        @DefaultValue("40") int depositWeight,
+        @DefaultValue("20") int withdrawWeight,
+        @DefaultValue("40") int transferWeight,
+        @DefaultValue("5") int maxRetries,
+        @DefaultValue("1000") BigDecimal initialBalance
+) {
+
+    public LoadTestProperties {
+        if (accounts < 2) {
+            throw new IllegalArgumentException("loadtest.accounts must be at least 2");
+        }
+        if (threads <= 0 || operations < 0 || maxRetries < 0) {
+            throw new IllegalArgumentException("loadtest.threads must be positive, operations and max-retries not negative");
+        }
+        if (depositWeight < 0 || withdrawWeight < 0 || transferWeight < 0
+                || depositWeight + withdrawWeight + transferWeight == 0) {
+            throw new IllegalArgumentException("loadtest operation weights must be non-negative and not all zero");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package cqrs.loadtest;
+
+import java.time.Duration;
+
+public record LoadTestReport(
+        long operations,
+        long succeeded,
+        long rejected,
+        long failed,
+        long conflicts,
+        long retries,
+        Duration elapsed,
+        double p50Micros,
+        double p99Micros,
+        double p999Micros,
+        double maxMicros,
+        long snapshotHits,
+        long snapshotMisses
+) {
+
+    public double throughputPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0 : operations / seconds;
+    }
+
+    public double snapshotHitRate() {
+        long lookups = snapshotHits + snapshotMisses;
+        return lookups == 0 ? 0 : (double) snapshotHits / lookups;
+    }
+
+    public String summary() {
+        return String.format(
+                "operations=%d succeeded=%d rejected=%d failed=%d conflicts=%d retries=%d elapsed=%dms "
+                        + "throughput=%.1f/s latency(us) p50=%.0f p99=%.0f p99.9=%.0f max=%.0f snapshotHitRate=%.3f",
+                operations, succeeded, rejected, failed, conflicts, retries, elapsed.toMillis(),
+                throughputPerSecond(), p50Micros, p99Micros, p999Micros, maxMicros, snapshotHitRate());
+    }
+}
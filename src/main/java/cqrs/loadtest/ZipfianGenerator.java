@@ -0,0 +1,48 @@
+package cqrs.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws item indexes in {@code [0, itemCount)} following a Zipf distribution,
+ * so index 0 is the hottest item and popularity falls off as {@code 1 / rank^skew}.
+ */
+public class ZipfianGenerator {
+    private final double[] cumulativeProbabilities;
+
+    public ZipfianGenerator(int itemCount, double skew) {
+        if (itemCount <= 0) {
+            throw new IllegalArgumentException("Item count must be positive.");
+        }
+        if (skew < 0) {
+            throw new IllegalArgumentException("Skew must not be negative.");
+        }
+        this.cumulativeProbabilities = new double[itemCount];
+        double sum = 0;
+        for (int rank = 1; rank <= itemCount; rank++) {
+            sum += 1.0 / Math.pow(rank, skew);
+            cumulativeProbabilities[rank - 1] = sum;
+        }
+        for (int i = 0; i < itemCount; i++) {
+            cumulativeProbabilities[i] /= sum;
+        }
+    }
+
+    public int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cumulativeProbabilities, u);
+        int item = index >= 0 ? index : -index - 1;
+        return Math.min(item, cumulativeProbabilities.length - 1);
+    }
+
+    public int nextExcluding(int excluded) {
+        if (cumulativeProbabilities.length < 2) {
+            throw new IllegalStateException("At least two items are required to exclude one.");
+        }
+        int item;
+        do {
+            item = next();
+        } while (item == excluded);
+        return item;
+    }
+}
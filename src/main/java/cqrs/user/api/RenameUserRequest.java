@@ -0,0 +1,4 @@
+package cqrs.user.api;
+
+public record RenameUserRequest(String name) {
+}
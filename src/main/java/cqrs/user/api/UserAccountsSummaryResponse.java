@@ -0,0 +1,14 @@
+package cqrs.user.api;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import cqrs.user.query.UserAccountsSummary;
+
+public record UserAccountsSummaryResponse(UUID userId, int accountCount, BigDecimal totalBalance, LocalDateTime lastActivityAt) {
+
+    public static UserAccountsSummaryResponse from(UserAccountsSummary summary) {
+        return new UserAccountsSummaryResponse(summary.getUserId(), summary.getAccountCount(), summary.getTotalBalance(), summary.getLastActivityAt());
+    }
+}
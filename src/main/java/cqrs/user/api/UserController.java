@@ -0,0 +1,53 @@
+package cqrs.user.api;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+import cqrs.user.command.UserRenameCommand;
+import cqrs.user.query.UserQueryService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final UserCommandService commandService;
+    private final UserQueryService queryService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public UserResponse create(@RequestBody UserCreatedCommand command,
+                               @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return UserResponse.from(commandService.createUser(new UserCreatedCommand(command.name(), idempotencyKey)));
+    }
+
+    @PutMapping("/{userId}/name")
+    public UserResponse rename(@PathVariable UUID userId, @RequestBody RenameUserRequest request,
+                               @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return UserResponse.from(commandService.renameUser(new UserRenameCommand(userId, request.name(), idempotencyKey)));
+    }
+
+    @GetMapping("/{userId}")
+    public UserResponse get(@PathVariable UUID userId) {
+        return UserResponse.from(queryService.getUserById(userId));
+    }
+
+    @GetMapping("/{userId}/accounts-summary")
+    public UserAccountsSummaryResponse getAccountsSummary(@PathVariable UUID userId) {
+        return UserAccountsSummaryResponse.from(queryService.getAccountsSummary(userId));
+    }
+}
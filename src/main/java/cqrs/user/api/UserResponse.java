@@ -0,0 +1,17 @@
+package cqrs.user.api;
+
+import java.util.UUID;
+
+import cqrs.user.model.User;
+import cqrs.user.query.UserView;
+
+public record UserResponse(UUID userId, String name, int version) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getUserId(), user.getName(), user.getCurrentVersion());
+    }
+
+    public static UserResponse from(UserView view) {
+        return new UserResponse(view.getUserId(), view.getName(), view.getVersion());
+    }
+}
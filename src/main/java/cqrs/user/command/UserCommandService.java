@@ -1,12 +1,24 @@
 package cqrs.user.command;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import cqrs.common.AggregateHistory;
+import cqrs.common.AggregateHistoryLoader;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import cqrs.common.idempotency.IdempotencyStore;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.snapshot.SnapshotStore;
+import cqrs.common.snapshot.SnapshotStrategy;
+import cqrs.common.tracing.CommandTracing;
 import cqrs.user.model.User;
-import cqrs.user.model.UserRepository;
+import cqrs.user.model.UserSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -17,13 +29,81 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 public class UserCommandService {
-    private final UserRepository userRepository;
+    private final EventStore eventStore;
+    private final SnapshotStore<UserSnapshot> snapshotStore;
+    private final AggregateHistoryLoader<UserSnapshot> historyLoader;
+    private final SnapshotStrategy snapshotStrategy;
+    private final EventSourcingMetrics metrics;
+    private final CommandTracing tracing;
+    private final IdempotencyStore idempotencyStore;
 
     @Transactional
     public User createUser(UserCreatedCommand command) {
-        User user = new User(UUID.randomUUID(), command.name());
-        userRepository.save(user);
-        log.info("User created. userId={}, name={}", user.getUserId(), user.getName());
+        return handle("create_user", command.idempotencyKey(), () -> {
+            User user = new User(command.name());
+            saveEvents(user);
+            log.info("User created. userId={}, name={}", user.getUserId(), user.getName());
+            return user;
+        });
+    }
+
+    @Transactional
+    public User renameUser(UserRenameCommand command) {
+        return handle("rename_user", command.idempotencyKey(), () -> {
+            User user = loadUser(command.userId());
+            user.rename(command.name());
+            saveEvents(user);
+            log.info("User renamed. userId={}, name={}", user.getUserId(), user.getName());
+            return user;
+        });
+    }
+
+    private User handle(String command, String idempotencyKey, Supplier<User> body) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            User user = tracing.command(command, () -> idempotencyKey == null ? body.get() : handleOnce(command, idempotencyKey, body));
+            succeeded = true;
+            return user;
+        } finally {
+            metrics.command(command).record(start, succeeded);
+        }
+    }
+
+    private User handleOnce(String command, String idempotencyKey, Supplier<User> body) {
+        Optional<UserSnapshot> previous = idempotencyStore.claim(command, idempotencyKey, UserSnapshot.class);
+        if (previous.isPresent()) {
+            return previous.get().toUser();
+        }
+
+        User user = body.get();
+        idempotencyStore.record(command, idempotencyKey, user.getUserId(), user.getCurrentVersion(), user.createSnapshot());
         return user;
     }
-}
\ No newline at end of file
+
+    private void saveEvents(User user) {
+        if (snapshotStrategy.shouldCreateSnapshot(user.getCurrentVersion())) {
+            snapshotStore.save(user.createSnapshot());
+        }
+        List<Event> events = user.getUncommittedEvents();
+        if (!events.isEmpty()) {
+            tracing.phase("append", () -> eventStore.saveAll(user.getUserId(), events));
+            user.clearUncommittedEvents();
+        }
+    }
+
+    private User loadUser(UUID userId) {
+        AggregateHistory<UserSnapshot> history = tracing.phase("snapshot.fetch", () -> historyLoader.load(userId, UserSnapshot.class));
+        return tracing.phase("replay", () -> {
+            if (history.snapshot().isPresent()) {
+                User user = history.snapshot().get().toUser();
+                user.replayEventsAfterSnapshot(history.events());
+                return user;
+            }
+            if (history.events().isEmpty()) {
+                throw new IllegalArgumentException("User not found with id: " + userId);
+            }
+            return User.loadFromHistory(userId, history.events());
+        });
+    }
+}
@@ -1,4 +1,14 @@
 package cqrs.user.command;
 
-public record UserCreatedCommand(String name) {
-}
\ No newline at end of file
+public record UserCreatedCommand(String name, String idempotencyKey) {
+
+    public UserCreatedCommand {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+    }
+
+    public UserCreatedCommand(String name) {
+        this(name, null);
+    }
+}
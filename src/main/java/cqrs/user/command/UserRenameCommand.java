@@ -0,0 +1,19 @@
+package cqrs.user.command;
+
+import java.util.UUID;
+
+public record UserRenameCommand(UUID userId, String name, String idempotencyKey) {
+
+    public UserRenameCommand {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+    }
+
+    public UserRenameCommand(UUID userId, String name) {
+        this(userId, name, null);
+    }
+}
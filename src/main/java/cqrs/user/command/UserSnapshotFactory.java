@@ -0,0 +1,26 @@
+package cqrs.user.command;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import cqrs.common.Event;
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.common.snapshot.SnapshotFactory;
+import cqrs.user.model.User;
+import cqrs.user.model.event.UserCreatedEvent;
+
+@Component
+public class UserSnapshotFactory implements SnapshotFactory {
+
+    @Override
+    public boolean supports(Event firstEvent) {
+        return firstEvent instanceof UserCreatedEvent;
+    }
+
+    @Override
+    public IsSnapshotData fromHistory(UUID aggregateId, List<Event> events) {
+        return User.loadFromHistory(aggregateId, events).createSnapshot();
+    }
+}
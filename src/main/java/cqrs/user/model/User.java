@@ -1,30 +1,109 @@
 package cqrs.user.model;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
+import cqrs.common.AggregateRoot;
+import cqrs.common.Event;
+import cqrs.user.model.event.UserCreatedEvent;
+import cqrs.user.model.event.UserRenamedEvent;
 
-
-@Entity
 public class User {
-    @Id
-    private UUID userId;
+    private final AggregateRoot aggregateRoot;
     private String name;
 
-    protected User() {
+    public User(String name) {
+        validation(name);
+        this.aggregateRoot = new AggregateRoot(this::handleEvent);
+
+        UserCreatedEvent event = new UserCreatedEvent(
+            UUID.randomUUID(),
+            aggregateRoot.getAggregateId(),
+            name,
+            LocalDateTime.now(),
+            aggregateRoot.getCurrentVersion() + 1
+        );
+        aggregateRoot.recordAndApplyEvent(event);
+    }
+
+    private User(UUID userId, List<Event> events) {
+        this.aggregateRoot = new AggregateRoot(userId, events, this::handleEvent);
     }
 
-    public User(UUID userId, String name) {
-        this.userId = userId;
+    private User(UUID userId, String name, int snapshotVersion) {
+        this.aggregateRoot = new AggregateRoot(userId, snapshotVersion, this::handleEvent);
         this.name = name;
     }
 
+    public static User loadFromHistory(UUID userId, List<Event> events) {
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("Cannot reconstitute User from empty event list.");
+        }
+        return new User(userId, events);
+    }
+
+    public static User loadFromSnapshot(UUID userId, String name, int version) {
+        return new User(userId, name, version);
+    }
+
+    public void replayEventsAfterSnapshot(List<Event> events) {
+        for (Event event : events) {
+            this.aggregateRoot.replayEvent(event);
+        }
+    }
+
+    private void handleEvent(Event event) {
+        switch (event) {
+            case UserCreatedEvent e -> this.name = e.name();
+            case UserRenamedEvent e -> this.name = e.name();
+            default -> throw new IllegalArgumentException("Unsupported event type: " + event.getClass().getName());
+        }
+    }
+
+    private void validation(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+    }
+
+    public void rename(String newName) {
+        validation(newName);
+        if (newName.equals(name)) {
+            return;
+        }
+
+        UserRenamedEvent event = new UserRenamedEvent(
+            UUID.randomUUID(),
+            aggregateRoot.getAggregateId(),
+            newName,
+            LocalDateTime.now(),
+            aggregateRoot.getCurrentVersion() + 1
+        );
+        aggregateRoot.recordAndApplyEvent(event);
+    }
+
+    public UserSnapshot createSnapshot() {
+        return new UserSnapshot(aggregateRoot.getAggregateId(), name, aggregateRoot.getCurrentVersion());
+    }
+
     public UUID getUserId() {
-        return userId;
+        return aggregateRoot.getAggregateId();
     }
 
     public String getName() {
         return name;
     }
-}
\ No newline at end of file
+
+    public List<Event> getUncommittedEvents() {
+        return aggregateRoot.getUncommittedEvents();
+    }
+
+    public void clearUncommittedEvents() {
+        aggregateRoot.clearUncommittedEvents();
+    }
+
+    public int getCurrentVersion() {
+        return aggregateRoot.getCurrentVersion();
+    }
+}
@@ -0,0 +1,33 @@
+package cqrs.user.model;
+
+import java.util.UUID;
+
+import cqrs.common.snapshot.IsSnapshotData;
+
+public class UserSnapshot implements IsSnapshotData {
+    private final UUID aggregateId;
+    private final String name;
+    private final int version;
+
+    public UserSnapshot(UUID aggregateId, String name, int version) {
+        this.aggregateId = aggregateId;
+        this.name = name;
+        this.version = version;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public User toUser() {
+        return User.loadFromSnapshot(aggregateId, name, version);
+    }
+}
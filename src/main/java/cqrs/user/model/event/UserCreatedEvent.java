@@ -0,0 +1,15 @@
+package cqrs.user.model.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import cqrs.common.Event;
+
+public record UserCreatedEvent(
+    UUID eventId,
+    UUID aggregateId,
+    String name,
+    LocalDateTime timestamp,
+    int version
+) implements Event {
+}
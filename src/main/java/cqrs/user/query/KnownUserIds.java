@@ -0,0 +1,54 @@
+package cqrs.user.query;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import cqrs.user.model.event.UserCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory set of existing user ids, so validating the user of every new account costs no database round trip.
+ * Ids are added once the creating transaction commits; an id created on another node is found on the first miss
+ * and remembered from then on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KnownUserIds {
+    private final UserViewRepository repository;
+    private final Set<UUID> userIds = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<UUID> ids = repository.streamAllUserIds()) {
+            ids.forEach(userIds::add);
+        }
+        log.info("Known user ids loaded. count={}", userIds.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(UserCreatedEvent event) {
+        userIds.add(event.aggregateId());
+    }
+
+    public boolean contains(UUID userId) {
+        if (userIds.contains(userId)) {
+            return true;
+        }
+        if (repository.existsById(userId)) {
+            userIds.add(userId);
+            return true;
+        }
+        return false;
+    }
+}
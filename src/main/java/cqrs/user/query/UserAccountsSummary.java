@@ -0,0 +1,51 @@
+package cqrs.user.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "user_accounts_summary")
+public class UserAccountsSummary {
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private int accountCount;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalBalance;
+
+    private LocalDateTime lastActivityAt;
+
+    protected UserAccountsSummary() {
+    }
+
+    public UserAccountsSummary(UUID userId, int accountCount, BigDecimal totalBalance, LocalDateTime lastActivityAt) {
+        this.userId = userId;
+        this.accountCount = accountCount;
+        this.totalBalance = totalBalance;
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+}
@@ -0,0 +1,73 @@
+package cqrs.user.query;
+
+import java.math.BigDecimal;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.bankaccount.model.event.MoneyDepositedEvent;
+import cqrs.bankaccount.model.event.MoneyTransferEvent;
+import cqrs.bankaccount.model.event.MoneyWithdrawnEvent;
+import cqrs.bankaccount.model.event.ShardCreditsConsolidatedEvent;
+import cqrs.bankaccount.model.event.TransferRefundedEvent;
+import cqrs.user.model.event.UserCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains one {@code user_accounts_summary} row per user from user and account events.
+ * Each event becomes a single UPDATE that resolves the owning user through {@code bank_account_view},
+ * so the summary never needs to read a user's accounts no matter how many there are.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAccountsSummaryProjection {
+    private final UserAccountsSummaryRepository repository;
+
+    @EventListener
+    public void on(UserCreatedEvent event) {
+        repository.save(new UserAccountsSummary(event.aggregateId(), 0, BigDecimal.ZERO, null));
+    }
+
+    @EventListener
+    public void on(AccountCreatedEvent event) {
+        updated(event.userId().toString(), repository.addAccount(event.userId(), event.timestamp()));
+    }
+
+    @EventListener
+    public void on(MoneyDepositedEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount(), event.timestamp()));
+    }
+
+    @EventListener
+    public void on(MoneyWithdrawnEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount().negate(), event.timestamp()));
+    }
+
+    @EventListener
+    public void on(MoneyTransferEvent event) {
+        int rows = repository.addToBalanceOfAccount(event.aggregateId(), event.fromAccountNumber(), event.amount().negate(), event.timestamp());
+        if (rows == 0) {
+            rows = repository.addToBalanceOfAccount(event.aggregateId(), event.toAccountNumber(), event.amount(), event.timestamp());
+        }
+        updated(event.aggregateId().toString(), rows);
+    }
+
+    @EventListener
+    public void on(TransferRefundedEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount(), event.timestamp()));
+    }
+
+    @EventListener
+    public void on(ShardCreditsConsolidatedEvent event) {
+        updated(event.aggregateId().toString(), repository.addToBalance(event.aggregateId(), event.amount(), event.timestamp()));
+    }
+
+    private void updated(String id, int rows) {
+        if (rows == 0) {
+            log.warn("No user_accounts_summary row affected for id: {}", id);
+        }
+    }
+}
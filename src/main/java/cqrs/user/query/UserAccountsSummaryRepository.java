@@ -0,0 +1,42 @@
+package cqrs.user.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserAccountsSummaryRepository extends JpaRepository<UserAccountsSummary, UUID> {
+
+    @Modifying
+    @Query("""
+            update UserAccountsSummary s
+            set s.accountCount = s.accountCount + 1,
+                s.lastActivityAt = case when s.lastActivityAt is null or s.lastActivityAt < :at then :at else s.lastActivityAt end
+            where s.userId = :userId
+            """)
+    int addAccount(@Param("userId") UUID userId, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("""
+            update UserAccountsSummary s
+            set s.totalBalance = s.totalBalance + :delta,
+                s.lastActivityAt = case when s.lastActivityAt is null or s.lastActivityAt < :at then :at else s.lastActivityAt end
+            where s.userId = (select v.userId from BankAccountView v where v.aggregateId = :aggregateId)
+            """)
+    int addToBalance(@Param("aggregateId") UUID aggregateId, @Param("delta") BigDecimal delta, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("""
+            update UserAccountsSummary s
+            set s.totalBalance = s.totalBalance + :delta,
+                s.lastActivityAt = case when s.lastActivityAt is null or s.lastActivityAt < :at then :at else s.lastActivityAt end
+            where s.userId = (select v.userId from BankAccountView v
+                              where v.aggregateId = :aggregateId and v.accountNumber = :accountNumber)
+            """)
+    int addToBalanceOfAccount(@Param("aggregateId") UUID aggregateId, @Param("accountNumber") String accountNumber,
+                              @Param("delta") BigDecimal delta, @Param("at") LocalDateTime at);
+}
@@ -5,8 +5,6 @@ import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import cqrs.user.model.User;
-import cqrs.user.model.UserRepository;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -17,10 +15,21 @@ import lombok.RequiredArgsConstructor;
 @Transactional(readOnly = true)
 public class UserQueryService {
 
-    private final UserRepository userRepository;
+    private final UserViewRepository userViewRepository;
+    private final UserAccountsSummaryRepository accountsSummaryRepository;
+    private final KnownUserIds knownUserIds;
 
-    public User getUserById(UUID userId) {
-        return userRepository.findById(userId)
+    public UserView getUserById(UUID userId) {
+        return userViewRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
     }
-}
\ No newline at end of file
+
+    public UserAccountsSummary getAccountsSummary(UUID userId) {
+        return accountsSummaryRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+    }
+
+    public boolean existsUser(UUID userId) {
+        return knownUserIds.contains(userId);
+    }
+}
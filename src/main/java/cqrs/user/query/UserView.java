@@ -0,0 +1,47 @@
+package cqrs.user.query;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "user_view")
+public class UserView {
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private int version;
+
+    protected UserView() {
+    }
+
+    public UserView(UUID userId, String name, int version) {
+        this.userId = userId;
+        this.name = name;
+        this.version = version;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void rename(String name, int version) {
+        this.name = name;
+        this.version = version;
+    }
+}
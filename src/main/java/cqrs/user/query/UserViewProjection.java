@@ -0,0 +1,29 @@
+package cqrs.user.query;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import cqrs.user.model.event.UserCreatedEvent;
+import cqrs.user.model.event.UserRenamedEvent;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps {@code user_view} in step with the user event stream inside the appending transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserViewProjection {
+    private final UserViewRepository repository;
+
+    @EventListener
+    public void on(UserCreatedEvent event) {
+        repository.save(new UserView(event.aggregateId(), event.name(), event.version()));
+    }
+
+    @EventListener
+    public void on(UserRenamedEvent event) {
+        repository.findById(event.aggregateId())
+                .orElseThrow(() -> new IllegalStateException("No user_view row for userId: " + event.aggregateId()))
+                .rename(event.name(), event.version());
+    }
+}
@@ -0,0 +1,13 @@
+package cqrs.user.query;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface UserViewRepository extends JpaRepository<UserView, UUID> {
+
+    @Query("select u.userId from UserView u")
+    Stream<UUID> streamAllUserIds();
+}
@@ -0,0 +1,82 @@
+-- Event log: append-only, read per aggregate in version order.
+create table event_store (
+    id             bigint generated by default as identity primary key,
+    aggregate_id   uuid         not null,
+    event_id       uuid         not null,
+    event_type     varchar(255) not null,
+    event_data     text         not null,
+    event_version  integer      not null,
+    created_at     timestamp(6) not null,
+    correlation_id uuid,
+    causation_id   uuid,
+    constraint uk_event_store_aggregate_version unique (aggregate_id, event_version)
+);
+create index idx_event_store_aggregate_created on event_store (aggregate_id, created_at);
+
+create table snapshot (
+    id            bigint generated by default as identity primary key,
+    aggregate_id  uuid         not null,
+    version       integer      not null,
+    snapshot_type varchar(255) not null,
+    snapshot_data text         not null,
+    created_at    timestamp(6) not null,
+    constraint uk_snapshot_aggregate_version unique (aggregate_id, version)
+);
+create index idx_snapshot_aggregate_created on snapshot (aggregate_id, created_at);
+
+create table event_archive_segment (
+    id           bigint generated by default as identity primary key,
+    aggregate_id uuid                    not null,
+    from_version integer                 not null,
+    to_version   integer                 not null,
+    event_count  integer                 not null,
+    archived_at  timestamp(6)            not null,
+    payload      varbinary(1000000000)   not null
+);
+create index idx_event_archive_segment_aggregate on event_archive_segment (aggregate_id, from_version);
+
+-- A command claims its key with an insert and records its result with one update.
+create table processed_command (
+    idempotency_key   varchar(255) primary key,
+    aggregate_id      uuid,
+    aggregate_version integer,
+    result_type       varchar(255),
+    result_data       text,
+    processed_at      timestamp(6) not null
+);
+
+create table bank_account_view (
+    account_number varchar(255)   primary key,
+    aggregate_id   uuid           not null,
+    account_holder varchar(255)   not null,
+    user_id        uuid           not null,
+    balance        numeric(19, 4) not null,
+    constraint uk_bank_account_view_aggregate unique (aggregate_id)
+);
+
+create table bank_account_transaction (
+    event_id                    uuid           primary key,
+    aggregate_id                uuid           not null,
+    account_number              varchar(255)   not null,
+    version                     integer        not null,
+    type                        varchar(16)    not null,
+    amount                      numeric(19, 4) not null,
+    balance_after               numeric(19, 4) not null,
+    counterparty_account_number varchar(255),
+    occurred_at                 timestamp(6)   not null,
+    constraint uk_bank_account_transaction_aggregate_version unique (aggregate_id, version)
+);
+create index idx_bank_account_transaction_account_occurred on bank_account_transaction (account_number, occurred_at, version);
+
+create table user_view (
+    user_id uuid         primary key,
+    name    varchar(255) not null,
+    version integer      not null
+);
+
+create table user_accounts_summary (
+    user_id          uuid           primary key,
+    account_count    integer        not null,
+    total_balance    numeric(19, 4) not null,
+    last_activity_at timestamp(6)
+);
@@ -0,0 +1,18 @@
+-- Trained zstd dictionaries. Rows are never updated or deleted: stored payloads reference them by id.
+create table payload_dictionary (
+    id           integer generated by default as identity primary key,
+    kind         varchar(16)        not null,
+    content      varbinary(1048576) not null,
+    sample_count integer            not null,
+    created_at   timestamp(6)       not null
+);
+create index idx_payload_dictionary_kind on payload_dictionary (kind, id);
+
+-- A payload is either plain JSON (event_data) or zstd-compressed with dictionary_id (compressed_data).
+alter table event_store alter column event_data drop not null;
+alter table event_store add column dictionary_id integer;
+alter table event_store add column compressed_data varbinary(1000000000);
+
+alter table snapshot alter column snapshot_data drop not null;
+alter table snapshot add column dictionary_id integer;
+alter table snapshot add column compressed_data varbinary(1000000000);
@@ -0,0 +1,9 @@
+-- Aggregate version the row reflects; account reads use it as their ETag.
+alter table bank_account_view add column version integer not null default 0;
+
+-- Fully archived streams have no rows left in event_store, but their latest snapshot covers the last version.
+update bank_account_view v
+set version = coalesce(
+        (select max(e.event_version) from event_store e where e.aggregate_id = v.aggregate_id),
+        (select max(s.version) from snapshot s where s.aggregate_id = v.aggregate_id),
+        0);
@@ -0,0 +1,11 @@
+-- Values that must be unique across aggregates, claimed in the transaction that appends the owning aggregate's first event.
+create table unique_reservation (
+    scope          varchar(64)  not null,
+    reserved_value varchar(255) not null,
+    owner_id       uuid         not null,
+    reserved_at    timestamp(6) not null,
+    primary key (scope, reserved_value)
+);
+
+insert into unique_reservation (scope, reserved_value, owner_id, reserved_at)
+select 'account-number', account_number, aggregate_id, current_timestamp from bank_account_view;
@@ -0,0 +1,16 @@
+-- One row per transfer run as a saga, written with the source's debit and settled once the target is credited or the source refunded.
+create table transfer_saga (
+    transfer_id         uuid           primary key,
+    from_aggregate_id   uuid           not null,
+    from_account_number varchar(255)   not null,
+    to_aggregate_id     uuid           not null,
+    to_account_number   varchar(255)   not null,
+    amount              numeric(19, 4) not null,
+    status              varchar(16)    not null,
+    attempts            integer        not null,
+    failure_reason      varchar(255),
+    correlation_id      uuid,
+    created_at          timestamp(6)   not null,
+    updated_at          timestamp(6)   not null
+);
+create index idx_transfer_saga_status_updated on transfer_saga (status, updated_at);
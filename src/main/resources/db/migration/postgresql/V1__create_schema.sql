@@ -0,0 +1,89 @@
+-- Event log: append-only, so tables and the monotonic primary key are packed full (fillfactor 100).
+-- Indexes led by random UUIDs keep the default fillfactor to absorb page splits.
+create table event_store (
+    id             bigint generated by default as identity,
+    aggregate_id   uuid         not null,
+    event_id       uuid         not null,
+    event_type     varchar(255) not null,
+    event_data     text         not null,
+    event_version  integer      not null,
+    created_at     timestamp(6) not null,
+    correlation_id uuid,
+    causation_id   uuid,
+    constraint event_store_pkey primary key (id) with (fillfactor = 100),
+    constraint uk_event_store_aggregate_version unique (aggregate_id, event_version)
+) with (fillfactor = 100);
+create index idx_event_store_aggregate_created on event_store (aggregate_id, created_at);
+
+create table snapshot (
+    id            bigint generated by default as identity,
+    aggregate_id  uuid         not null,
+    version       integer      not null,
+    snapshot_type varchar(255) not null,
+    snapshot_data text         not null,
+    created_at    timestamp(6) not null,
+    constraint snapshot_pkey primary key (id) with (fillfactor = 100),
+    constraint uk_snapshot_aggregate_version unique (aggregate_id, version)
+) with (fillfactor = 100);
+create index idx_snapshot_aggregate_created on snapshot (aggregate_id, created_at);
+
+create table event_archive_segment (
+    id           bigint generated by default as identity,
+    aggregate_id uuid         not null,
+    from_version integer      not null,
+    to_version   integer      not null,
+    event_count  integer      not null,
+    archived_at  timestamp(6) not null,
+    payload      bytea        not null,
+    constraint event_archive_segment_pkey primary key (id) with (fillfactor = 100)
+) with (fillfactor = 100);
+-- Segments are already compressed; skip TOAST compression and just store them out of line.
+alter table event_archive_segment alter column payload set storage external;
+create index idx_event_archive_segment_aggregate on event_archive_segment (aggregate_id, from_version);
+
+-- A command claims its key with an insert and records its result with one update; free space per page lets that be a HOT update.
+create table processed_command (
+    idempotency_key   varchar(255) primary key,
+    aggregate_id      uuid,
+    aggregate_version integer,
+    result_type       varchar(255),
+    result_data       text,
+    processed_at      timestamp(6) not null
+) with (fillfactor = 90);
+
+-- Read models are updated in place on every balance change; free space per page lets those be HOT updates.
+create table bank_account_view (
+    account_number varchar(255)   primary key,
+    aggregate_id   uuid           not null,
+    account_holder varchar(255)   not null,
+    user_id        uuid           not null,
+    balance        numeric(19, 4) not null,
+    constraint uk_bank_account_view_aggregate unique (aggregate_id)
+) with (fillfactor = 80);
+
+create table bank_account_transaction (
+    event_id                    uuid           primary key,
+    aggregate_id                uuid           not null,
+    account_number              varchar(255)   not null,
+    version                     integer        not null,
+    type                        varchar(16)    not null,
+    amount                      numeric(19, 4) not null,
+    balance_after               numeric(19, 4) not null,
+    counterparty_account_number varchar(255),
+    occurred_at                 timestamp(6)   not null,
+    constraint uk_bank_account_transaction_aggregate_version unique (aggregate_id, version)
+) with (fillfactor = 100);
+create index idx_bank_account_transaction_account_occurred on bank_account_transaction (account_number, occurred_at, version);
+
+create table user_view (
+    user_id uuid         primary key,
+    name    varchar(255) not null,
+    version integer      not null
+) with (fillfactor = 90);
+
+create table user_accounts_summary (
+    user_id          uuid           primary key,
+    account_count    integer        not null,
+    total_balance    numeric(19, 4) not null,
+    last_activity_at timestamp(6)
+) with (fillfactor = 80);
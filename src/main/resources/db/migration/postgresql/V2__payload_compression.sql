@@ -0,0 +1,20 @@
+-- Trained zstd dictionaries. Rows are never updated or deleted: stored payloads reference them by id.
+create table payload_dictionary (
+    id           integer generated by default as identity,
+    kind         varchar(16)  not null,
+    content      bytea        not null,
+    sample_count integer      not null,
+    created_at   timestamp(6) not null,
+    constraint payload_dictionary_pkey primary key (id)
+);
+create index idx_payload_dictionary_kind on payload_dictionary (kind, id);
+
+-- A payload is either plain JSON (event_data) or zstd-compressed with dictionary_id (compressed_data).
+-- Compressed payloads are far below the TOAST threshold, so they stay inline in the heap row.
+alter table event_store alter column event_data drop not null;
+alter table event_store add column dictionary_id integer;
+alter table event_store add column compressed_data bytea;
+
+alter table snapshot alter column snapshot_data drop not null;
+alter table snapshot add column dictionary_id integer;
+alter table snapshot add column compressed_data bytea;
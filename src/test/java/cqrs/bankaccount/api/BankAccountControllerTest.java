@@ -0,0 +1,119 @@
+package cqrs.bankaccount.api;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BankAccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Test
+    void retried_deposit_with_same_idempotency_key_is_applied_once() throws Exception {
+        String accountNumber = createAccount();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/accounts/{accountNumber}/deposits", accountNumber)
+                            .header("Idempotency-Key", "deposit-" + accountNumber)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\": 100}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.balance").value(100))
+                    .andExpect(jsonPath("$.version").value(1));
+        }
+
+        mockMvc.perform(get("/api/accounts/{accountNumber}", accountNumber))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(100));
+    }
+
+    @Test
+    void account_read_is_conditional_on_its_version() throws Exception {
+        String accountNumber = createAccount();
+
+        mockMvc.perform(get("/api/accounts/{accountNumber}", accountNumber))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+        mockMvc.perform(get("/api/accounts/{accountNumber}", accountNumber).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/accounts/{accountNumber}/deposits", accountNumber)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 100}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/accounts/{accountNumber}", accountNumber).header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.balance").value(100));
+    }
+
+    @Test
+    void batch_reports_each_command_result() throws Exception {
+        String accountNumber = createAccount();
+
+        mockMvc.perform(post("/api/accounts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"type": "deposit", "accountNumber": "%1$s", "amount": 100},
+                                  {"type": "withdraw", "accountNumber": "%1$s", "amount": 500},
+                                  {"type": "withdraw", "accountNumber": "%1$s", "amount": 40}
+                                ]
+                                """.formatted(accountNumber)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].succeeded").value(true))
+                .andExpect(jsonPath("$[1].succeeded").value(false))
+                .andExpect(jsonPath("$[1].error").value("Insufficient funds"))
+                .andExpect(jsonPath("$[2].succeeded").value(true))
+                .andExpect(jsonPath("$[2].account.balance").value(60));
+    }
+
+    @Test
+    void unknown_account_is_bad_request() throws Exception {
+        mockMvc.perform(get("/api/accounts/{accountNumber}", "missing-" + UUID.randomUUID()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void account_for_unknown_user_is_bad_request() throws Exception {
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"accountNumber": "API-unknown-user", "accountHolder": "John Doe", "userId": "%s"}
+                                """.formatted(UUID.randomUUID())))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String createAccount() throws Exception {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "API-" + UUID.randomUUID().toString().substring(0, 8);
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"accountNumber": "%s", "accountHolder": "John Doe", "userId": "%s"}
+                                """.formatted(accountNumber, userId)))
+                .andExpect(status().isCreated());
+        return accountNumber;
+    }
+}
@@ -0,0 +1,75 @@
+package cqrs.bankaccount.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest
+class AccountNumberReservationTest {
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private BankAccountQueryService queryService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Test
+    void concurrent_creates_of_one_number_yield_one_account() throws Exception {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "RSV-" + UUID.randomUUID().toString().substring(0, 8);
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+                }));
+            }
+            start.countDown();
+        }
+
+        int created = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (Exception ignored) {
+                // Losers fail either on the reservation or, while the winner is still committing, on its lock.
+            }
+        }
+        assertThat(created).isEqualTo(1);
+        assertThat(queryService.getAccount(accountNumber).getAccountHolder()).isEqualTo("Holder");
+    }
+
+    @Test
+    void number_of_an_existing_account_is_rejected() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "RSV-" + UUID.randomUUID().toString().substring(0, 8);
+        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+
+        assertThatThrownBy(() -> commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Other", userId)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Account number already exists");
+    }
+}
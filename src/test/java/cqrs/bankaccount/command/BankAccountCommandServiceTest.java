@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -12,10 +14,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,6 +29,9 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
 import cqrs.bankaccount.model.BankAccount;
 import cqrs.bankaccount.model.BankAccountSnapshot;
 import cqrs.bankaccount.model.BankAccountValidation;
@@ -33,10 +40,18 @@ import cqrs.bankaccount.model.event.MoneyDepositedEvent;
 import cqrs.bankaccount.model.event.MoneyTransferEvent;
 import cqrs.bankaccount.model.event.MoneyWithdrawnEvent;
 import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.bankaccount.saga.TransferSaga;
+import cqrs.bankaccount.saga.TransferSagaProperties;
+import cqrs.bankaccount.saga.TransferSagaRepository;
+import cqrs.common.AggregateHistoryLoader;
 import cqrs.common.Event;
 import cqrs.common.EventStore;
+import cqrs.common.idempotency.IdempotencyStore;
+import cqrs.common.metrics.EventSourcingMetrics;
+import cqrs.common.reservation.ReservationStore;
 import cqrs.common.snapshot.SnapshotStore;
 import cqrs.common.snapshot.SnapshotStrategy;
+import cqrs.common.tracing.CommandTracing;
 
 class BankAccountCommandServiceTest {
 
@@ -45,6 +60,9 @@ class BankAccountCommandServiceTest {
     private BankAccountQueryService queryService;
     private SnapshotStore<BankAccountSnapshot> snapshotStore;
     private SnapshotStrategy snapshotStrategy;
+    private IdempotencyStore idempotencyStore;
+    private ReservationStore reservations;
+    private TransferSagaRepository sagas;
     private BankAccountCommandService commandService;
 
     private final String TEST_ACCOUNT_NUMBER = "1234567890";
@@ -59,7 +77,10 @@ class BankAccountCommandServiceTest {
         queryService = mock(BankAccountQueryService.class);
         snapshotStore = mock(SnapshotStore.class);
         snapshotStrategy = mock(SnapshotStrategy.class);
-        commandService = new BankAccountCommandService(eventStore, validation, queryService, snapshotStore, snapshotStrategy);
+        idempotencyStore = mock(IdempotencyStore.class);
+        reservations = mock(ReservationStore.class);
+        sagas = mock(TransferSagaRepository.class);
+        commandService = commandService(false);
 
         given(queryService.getAggregateIdByAccountNumber(TEST_ACCOUNT_NUMBER)).willReturn(TEST_AGGREGATE_ID);
     }
@@ -67,14 +88,15 @@ class BankAccountCommandServiceTest {
     @Test
     @DisplayName("Create account success - no snapshot")
     void create_account_success_no_snapshot() {
-        given(validation.exists(TEST_ACCOUNT_NUMBER)).willReturn(false);
+        given(validation.existsUser(TEST_USER_ID)).willReturn(true);
+        given(reservations.reserve(eq("account-number"), eq(TEST_ACCOUNT_NUMBER), any(UUID.class))).willReturn(true);
         BankAccountCreatedCommand command = new BankAccountCreatedCommand(TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_HOLDER, TEST_USER_ID);
         given(snapshotStrategy.shouldCreateSnapshot(eq(0))).willReturn(false);
 
         BankAccount account = commandService.createAccount(command);
 
         assertThat(account.getAccountNumber()).isEqualTo(TEST_ACCOUNT_NUMBER);
-        verify(eventStore, times(1)).save(any(UUID.class), any(AccountCreatedEvent.class));
+        verify(eventStore, times(1)).saveAll(any(UUID.class), argThat(events -> containsOnly(events, AccountCreatedEvent.class)));
         verify(snapshotStore, never()).save(any(BankAccountSnapshot.class));
     }
 
@@ -193,12 +215,26 @@ class BankAccountCommandServiceTest {
     @Test
     @DisplayName("Create account fail - duplicate account number")
     void create_account_fail_duplicate() {
-        given(validation.exists(TEST_ACCOUNT_NUMBER)).willReturn(true);
+        given(validation.existsUser(TEST_USER_ID)).willReturn(true);
+        given(reservations.reserve(eq("account-number"), eq(TEST_ACCOUNT_NUMBER), any(UUID.class))).willReturn(false);
         BankAccountCreatedCommand command = new BankAccountCreatedCommand(TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_HOLDER, TEST_USER_ID);
 
         assertThatThrownBy(() -> commandService.createAccount(command))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Account number already exists");
+        verify(eventStore, never()).saveAll(any(), any());
+    }
+
+    @Test
+    @DisplayName("Create account fail - unknown user")
+    void create_account_fail_unknown_user() {
+        given(validation.existsUser(TEST_USER_ID)).willReturn(false);
+        BankAccountCreatedCommand command = new BankAccountCreatedCommand(TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_HOLDER, TEST_USER_ID);
+
+        assertThatThrownBy(() -> commandService.createAccount(command))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("User not found");
+        verify(eventStore, never()).saveAll(any(), any());
     }
 
     @Test
@@ -214,10 +250,37 @@ class BankAccountCommandServiceTest {
 
         assertThat(account.getBalance()).isEqualTo(BigDecimal.valueOf(50));
         assertThat(account.getCurrentVersion()).isEqualTo(2);
-        verify(eventStore).save(eq(TEST_AGGREGATE_ID), any(MoneyWithdrawnEvent.class));
+        verify(eventStore).saveAll(eq(TEST_AGGREGATE_ID), argThat(events -> containsOnly(events, MoneyWithdrawnEvent.class)));
         verify(snapshotStore, never()).save(any(BankAccountSnapshot.class));
     }
 
+    @Test
+    @DisplayName("Deposit with idempotency key records result")
+    void deposit_with_idempotency_key_records_result() {
+        given(eventStore.load(TEST_AGGREGATE_ID)).willReturn(List.of(
+            new AccountCreatedEvent(UUID.randomUUID(), TEST_AGGREGATE_ID, TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_HOLDER, TEST_USER_ID, LocalDateTime.now(), 0)
+        ));
+
+        commandService.deposit(new BankAccountDepositCommand(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(100), "key-1"));
+
+        verify(idempotencyStore).record(eq("deposit"), eq("key-1"), eq(TEST_AGGREGATE_ID), eq(1), any(BankAccountSnapshot.class));
+    }
+
+    @Test
+    @DisplayName("Deposit replay returns original result without loading account")
+    void deposit_replay_returns_original_result() {
+        BankAccountSnapshot processed = new BankAccountSnapshot(TEST_AGGREGATE_ID, TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_HOLDER, BigDecimal.valueOf(100), 1, TEST_USER_ID);
+        given(idempotencyStore.claim("deposit", "key-1", BankAccountSnapshot.class)).willReturn(Optional.of(processed));
+
+        BankAccount account = commandService.deposit(new BankAccountDepositCommand(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(100), "key-1"));
+
+        assertThat(account.getBalance()).isEqualTo(BigDecimal.valueOf(100));
+        assertThat(account.getCurrentVersion()).isEqualTo(1);
+        verify(queryService, never()).getAggregateIdByAccountNumber(any());
+        verify(eventStore, never()).saveAll(any(), any());
+        verify(idempotencyStore, never()).record(any(), any(), any(), anyInt(), any());
+    }
+
     @Test
     @DisplayName("Transfer success")
     void transfer_success() {
@@ -228,20 +291,47 @@ class BankAccountCommandServiceTest {
 
         given(queryService.getAggregateIdByAccountNumber(fromAccountNumber)).willReturn(fromAggregateId);
         given(queryService.getAggregateIdByAccountNumber(toAccountNumber)).willReturn(toAggregateId);
-        given(eventStore.load(fromAggregateId)).willReturn(List.of(
-            new AccountCreatedEvent(UUID.randomUUID(), fromAggregateId, fromAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
-            new MoneyDepositedEvent(UUID.randomUUID(), fromAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
-        ));
-        given(eventStore.load(toAggregateId)).willReturn(List.of(
-            new AccountCreatedEvent(UUID.randomUUID(), toAggregateId, toAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
-            new MoneyDepositedEvent(UUID.randomUUID(), toAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+        given(eventStore.loadMany(anyMap())).willReturn(Map.of(
+            fromAggregateId, List.of(
+                new AccountCreatedEvent(UUID.randomUUID(), fromAggregateId, fromAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
+                new MoneyDepositedEvent(UUID.randomUUID(), fromAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+            ),
+            toAggregateId, List.of(
+                new AccountCreatedEvent(UUID.randomUUID(), toAggregateId, toAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
+                new MoneyDepositedEvent(UUID.randomUUID(), toAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+            )
         ));
 
         BankAccount fromAccount = commandService.transfer(new BankAccountTransferCommand(fromAccountNumber, toAccountNumber, BigDecimal.valueOf(30)));
 
         assertThat(fromAccount.getBalance()).isEqualTo(BigDecimal.valueOf(70));
-        verify(eventStore).save(eq(fromAggregateId), any(MoneyTransferEvent.class));
-        verify(eventStore).save(eq(toAggregateId), any(MoneyTransferEvent.class));
+        verify(eventStore).saveAll(eq(fromAggregateId), argThat(events -> containsOnly(events, MoneyTransferEvent.class)));
+        verify(eventStore).saveAll(eq(toAggregateId), argThat(events -> containsOnly(events, MoneyTransferEvent.class)));
+        verify(eventStore).loadMany(Map.of(fromAggregateId, -1, toAggregateId, -1));
+        verify(eventStore, never()).load(any());
+    }
+
+    @Test
+    @DisplayName("Transfer as saga - debits the source only and records the saga")
+    void transfer_saga_debits_source_only() {
+        String toAccountNumber = "0987654321";
+        UUID toAggregateId = UUID.randomUUID();
+        given(queryService.getAggregateIdByAccountNumber(toAccountNumber)).willReturn(toAggregateId);
+        given(eventStore.load(TEST_AGGREGATE_ID)).willReturn(List.of(
+            new AccountCreatedEvent(UUID.randomUUID(), TEST_AGGREGATE_ID, TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_HOLDER, TEST_USER_ID, LocalDateTime.now(), 0),
+            new MoneyDepositedEvent(UUID.randomUUID(), TEST_AGGREGATE_ID, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+        ));
+
+        BankAccount fromAccount = commandService(true).transfer(new BankAccountTransferCommand(TEST_ACCOUNT_NUMBER, toAccountNumber, BigDecimal.valueOf(30)));
+
+        assertThat(fromAccount.getBalance()).isEqualTo(BigDecimal.valueOf(70));
+        verify(eventStore).saveAll(eq(TEST_AGGREGATE_ID), argThat(events -> containsOnly(events, MoneyTransferEvent.class)));
+        verify(eventStore, never()).load(toAggregateId);
+        verify(eventStore, never()).saveAll(eq(toAggregateId), any());
+        ArgumentCaptor<TransferSaga> sagaCaptor = ArgumentCaptor.forClass(TransferSaga.class);
+        verify(sagas).save(sagaCaptor.capture());
+        assertThat(sagaCaptor.getValue().getToAggregateId()).isEqualTo(toAggregateId);
+        assertThat(sagaCaptor.getValue().getStatus()).isEqualTo(TransferSaga.Status.DEBITED);
     }
 
     @Test
@@ -254,16 +344,50 @@ class BankAccountCommandServiceTest {
 
         given(queryService.getAggregateIdByAccountNumber(fromAccountNumber)).willReturn(fromAggregateId);
         given(queryService.getAggregateIdByAccountNumber(toAccountNumber)).willReturn(toAggregateId);
-        given(eventStore.load(fromAggregateId)).willReturn(List.of(
-            new AccountCreatedEvent(UUID.randomUUID(), fromAggregateId, fromAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
-            new MoneyDepositedEvent(UUID.randomUUID(), fromAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
-        ));
-        given(eventStore.load(toAggregateId)).willReturn(List.of(
-            new AccountCreatedEvent(UUID.randomUUID(), toAggregateId, toAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
-            new MoneyDepositedEvent(UUID.randomUUID(), toAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+        given(eventStore.loadMany(anyMap())).willReturn(Map.of(
+            fromAggregateId, List.of(
+                new AccountCreatedEvent(UUID.randomUUID(), fromAggregateId, fromAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
+                new MoneyDepositedEvent(UUID.randomUUID(), fromAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+            ),
+            toAggregateId, List.of(
+                new AccountCreatedEvent(UUID.randomUUID(), toAggregateId, toAccountNumber, "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0),
+                new MoneyDepositedEvent(UUID.randomUUID(), toAggregateId, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+            )
         ));
 
         assertThatThrownBy(() -> commandService.transfer(new BankAccountTransferCommand(fromAccountNumber, toAccountNumber, BigDecimal.valueOf(150))))
                 .isInstanceOf(IllegalArgumentException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Transfer fail - same source and target account")
+    void transfer_fail_same_account() {
+        assertThatThrownBy(() -> new BankAccountTransferCommand(TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(30)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot transfer to the same account");
+
+        BankAccount account = BankAccount.loadFromHistory(TEST_AGGREGATE_ID, List.of(
+            new AccountCreatedEvent(UUID.randomUUID(), TEST_AGGREGATE_ID, TEST_ACCOUNT_NUMBER, TEST_ACCOUNT_HOLDER, TEST_USER_ID, LocalDateTime.now(), 0),
+            new MoneyDepositedEvent(UUID.randomUUID(), TEST_AGGREGATE_ID, BigDecimal.valueOf(100), LocalDateTime.now(), 1)
+        ));
+        assertThatThrownBy(() -> account.transferTo(TEST_ACCOUNT_NUMBER, BigDecimal.valueOf(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(account.getBalance()).isEqualTo(BigDecimal.valueOf(100));
+        verify(eventStore, never()).saveAll(any(), any());
+    }
+
+    private static boolean containsOnly(List<Event> events, Class<? extends Event> eventType) {
+        return events.size() == 1 && eventType.isInstance(events.get(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private BankAccountCommandService commandService(boolean transferSaga) {
+        return new BankAccountCommandService(eventStore, validation, queryService, snapshotStore,
+                AggregateHistoryLoader.sequential(snapshotStore, eventStore), snapshotStrategy,
+                new EventSourcingMetrics(new SimpleMeterRegistry(), false), new CommandTracing(ObservationRegistry.NOOP), idempotencyStore,
+                new HotAccountLedger(eventStore, mock(SnapshotStore.class), mock(AggregateHistoryLoader.class), snapshotStrategy,
+                        new HotAccountProperties(false, List.of(), 8, Duration.ofSeconds(1))),
+                reservations, sagas,
+                new TransferSagaProperties(transferSaga, 5, Duration.ofMillis(50), Duration.ofMinutes(1), Duration.ofSeconds(30), 1000));
+    }
+}
@@ -0,0 +1,74 @@
+package cqrs.bankaccount.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.infrastructure.eventstore.EventEntity;
+import cqrs.infrastructure.eventstore.EventJpaRepository;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability
+class BankAccountCommandTracingTest {
+
+    @TestConfiguration
+    static class InMemoryExporterConfiguration {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private EventJpaRepository eventJpaRepository;
+
+    @Test
+    void deposit_is_traced_per_phase_and_events_carry_correlation() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "TR-" + UUID.randomUUID().toString().substring(0, 8);
+        BankAccount account = commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "John Doe", userId));
+        spanExporter.reset();
+
+        commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.valueOf(100)));
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        List<String> spanNames = spanExporter.getFinishedSpanItems().stream().map(SpanData::getName).toList();
+        assertThat(spanNames).contains("deposit", "lookup", "snapshot.fetch", "replay", "decide", "append");
+
+        List<EventEntity> events = eventJpaRepository.findByAggregateIdOrderByEventVersionAsc(account.getAggregateId());
+        assertThat(events).hasSize(2);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getCorrelationId()).isNotNull();
+            assertThat(event.getCausationId()).isNotNull();
+        });
+        assertThat(events.get(0).getCorrelationId()).isNotEqualTo(events.get(1).getCorrelationId());
+    }
+}
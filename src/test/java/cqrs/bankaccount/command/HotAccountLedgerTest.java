@@ -0,0 +1,77 @@
+package cqrs.bankaccount.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.bankaccount.query.BankAccountView;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest(properties = {
+        "app.hot-accounts.enabled=true",
+        "app.hot-accounts.account-numbers=HOT-LEDGER-1,HOT-LEDGER-2",
+        "app.hot-accounts.shards=4",
+        "app.hot-accounts.consolidate-interval=PT1H"
+})
+class HotAccountLedgerTest {
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private BankAccountQueryService queryService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Test
+    void credits_reach_the_account_and_the_view_on_consolidation() {
+        createAccount("HOT-LEDGER-1");
+        for (int i = 0; i < 6; i++) {
+            BankAccount account = commandService.deposit(new BankAccountDepositCommand("HOT-LEDGER-1", BigDecimal.valueOf(100)));
+            assertThat(account.getCurrentVersion()).isZero();
+            assertThat(account.getBalance()).isEqualByComparingTo("100");
+        }
+        assertThat(queryService.getAccount("HOT-LEDGER-1").getBalance()).isEqualByComparingTo("0");
+
+        BankAccount consolidated = null;
+        for (int shard = 0; shard < 4; shard++) {
+            consolidated = commandService.consolidate("HOT-LEDGER-1", shard);
+        }
+
+        assertThat(consolidated.getBalance()).isEqualByComparingTo("600");
+        BankAccountView view = queryService.getAccount("HOT-LEDGER-1");
+        assertThat(view.getBalance()).isEqualByComparingTo("600");
+        assertThat(view.getVersion()).isEqualTo(consolidated.getCurrentVersion());
+        // Nothing left to sweep.
+        assertThat(commandService.consolidate("HOT-LEDGER-1", 0).getCurrentVersion()).isEqualTo(consolidated.getCurrentVersion());
+    }
+
+    @Test
+    void debit_beyond_the_consolidated_balance_sweeps_the_sub_ledgers_first() {
+        createAccount("HOT-LEDGER-2");
+        String payer = "HOT-PAYER-" + UUID.randomUUID().toString().substring(0, 8);
+        createAccount(payer);
+        commandService.deposit(new BankAccountDepositCommand(payer, BigDecimal.valueOf(100)));
+
+        commandService.transfer(new BankAccountTransferCommand(payer, "HOT-LEDGER-2", BigDecimal.valueOf(60)));
+        BankAccount account = commandService.withdraw(new BankAccountWithdrawCommand("HOT-LEDGER-2", BigDecimal.valueOf(50)));
+
+        assertThat(account.getBalance()).isEqualByComparingTo("10");
+        assertThat(queryService.getAccount("HOT-LEDGER-2").getBalance()).isEqualByComparingTo("10");
+        assertThat(queryService.getAccount(payer).getBalance()).isEqualByComparingTo("40");
+    }
+
+    private void createAccount(String accountNumber) {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+    }
+}
@@ -0,0 +1,99 @@
+package cqrs.bankaccount.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest(properties = {"app.reactive.enabled=true", "app.reactive.catch-up-after=PT0S"})
+class ReactiveBankAccountCommandServiceTest {
+
+    @Autowired
+    private ReactiveBankAccountCommandService reactiveCommandService;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private BankAccountQueryService queryService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private ReactiveProjections projections;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void commands_round_trip_through_snapshots_and_update_the_read_model() {
+        String accountNumber = createAccount();
+        for (int i = 0; i < 4; i++) {
+            reactiveCommandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.valueOf(100))).block();
+        }
+
+        BankAccount account = reactiveCommandService.withdraw(new BankAccountWithdrawCommand(accountNumber, BigDecimal.valueOf(50))).block();
+
+        assertThat(account.getCurrentVersion()).isEqualTo(5);
+        assertThat(account.getBalance()).isEqualByComparingTo("350");
+        assertThat(queryService.getAccount(accountNumber).getBalance()).isEqualByComparingTo("350");
+        // The blocking pipeline reads what the reactive one wrote.
+        assertThat(commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN)).getCurrentVersion()).isEqualTo(6);
+    }
+
+    @Test
+    void transfer_appends_to_both_accounts() {
+        String from = createAccount();
+        String to = createAccount();
+        reactiveCommandService.deposit(new BankAccountDepositCommand(from, BigDecimal.valueOf(100))).block();
+
+        reactiveCommandService.transfer(new BankAccountTransferCommand(from, to, BigDecimal.valueOf(30))).block();
+
+        assertThat(queryService.getAccount(from).getBalance()).isEqualByComparingTo("70");
+        assertThat(queryService.getAccount(to).getBalance()).isEqualByComparingTo("30");
+    }
+
+    @Test
+    void rejected_command_appends_nothing() {
+        String accountNumber = createAccount();
+
+        assertThatThrownBy(() -> reactiveCommandService.withdraw(new BankAccountWithdrawCommand(accountNumber, BigDecimal.ONE)).block())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+        assertThat(reactiveCommandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN)).block().getCurrentVersion())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void catch_up_applies_events_the_read_model_missed_exactly_once() {
+        String accountNumber = createAccount();
+        reactiveCommandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.valueOf(100))).block();
+        // As if the deposit's projection had failed after its events committed.
+        jdbcTemplate.update("update bank_account_view set balance = 0, version = 0 where account_number = ?", accountNumber);
+
+        projections.catchUp();
+        projections.catchUp();
+
+        assertThat(queryService.getAccount(accountNumber).getBalance()).isEqualByComparingTo("100");
+        assertThat(queryService.getAccount(accountNumber).getVersion()).isEqualTo(1);
+    }
+
+    private String createAccount() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "RX-" + UUID.randomUUID().toString().substring(0, 8);
+        reactiveCommandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId)).block();
+        return accountNumber;
+    }
+}
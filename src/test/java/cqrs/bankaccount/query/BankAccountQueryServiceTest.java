@@ -0,0 +1,61 @@
+package cqrs.bankaccount.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest
+class BankAccountQueryServiceTest {
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private BankAccountQueryService queryService;
+
+    @Test
+    void balance_as_of_ignores_later_events_across_snapshots() throws InterruptedException {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "ASOF-" + UUID.randomUUID().toString().substring(0, 8);
+        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+        LocalDateTime beforeDeposits = tick();
+
+        for (int i = 0; i < 4; i++) {
+            commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN));
+        }
+        LocalDateTime afterFourDeposits = tick();
+
+        for (int i = 0; i < 3; i++) {
+            commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN));
+        }
+
+        assertThat(queryService.balanceAsOf(accountNumber, beforeDeposits)).isEqualByComparingTo("0");
+        assertThat(queryService.balanceAsOf(accountNumber, afterFourDeposits)).isEqualByComparingTo("40");
+        assertThat(queryService.balanceAsOf(accountNumber, LocalDateTime.now())).isEqualByComparingTo("70");
+        assertThatThrownBy(() -> queryService.balanceAsOf(accountNumber, beforeDeposits.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+}
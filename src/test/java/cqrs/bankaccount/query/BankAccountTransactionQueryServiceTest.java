@@ -0,0 +1,79 @@
+package cqrs.bankaccount.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.command.BankAccountTransferCommand;
+import cqrs.bankaccount.command.BankAccountWithdrawCommand;
+import cqrs.bankaccount.query.BankAccountTransaction.Type;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest
+class BankAccountTransactionQueryServiceTest {
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private BankAccountTransactionQueryService queryService;
+
+    @Test
+    void statement_carries_running_balance_and_pages_by_cursor() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String account = createAccount(userId);
+        String other = createAccount(userId);
+
+        commandService.deposit(new BankAccountDepositCommand(account, BigDecimal.valueOf(100)));
+        commandService.withdraw(new BankAccountWithdrawCommand(account, BigDecimal.valueOf(30)));
+        commandService.transfer(new BankAccountTransferCommand(account, other, BigDecimal.valueOf(20)));
+        commandService.deposit(new BankAccountDepositCommand(account, BigDecimal.valueOf(5)));
+
+        List<BankAccountTransaction> lines = new ArrayList<>();
+        StatementCursor cursor = null;
+        do {
+            StatementPage page = queryService.getStatement(account, null, null, cursor, 2);
+            assertThat(page.transactions()).hasSizeLessThanOrEqualTo(2);
+            lines.addAll(page.transactions());
+            cursor = page.next();
+        } while (cursor != null);
+
+        assertThat(lines).extracting(BankAccountTransaction::getType)
+                .containsExactly(Type.OPENED, Type.DEPOSIT, Type.WITHDRAWAL, Type.TRANSFER_OUT, Type.DEPOSIT);
+        assertThat(lines).extracting(BankAccountTransaction::getBalanceAfter)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.ZERO, BigDecimal.valueOf(100), BigDecimal.valueOf(70), BigDecimal.valueOf(50), BigDecimal.valueOf(55));
+        assertThat(lines.get(3).getCounterpartyAccountNumber()).isEqualTo(other);
+
+        StatementPage credited = queryService.getStatement(other, null, null, null, 10);
+        assertThat(credited.transactions()).extracting(BankAccountTransaction::getType).containsExactly(Type.OPENED, Type.TRANSFER_IN);
+        assertThat(credited.transactions().get(1).getBalanceAfter()).isEqualByComparingTo("20");
+    }
+
+    @Test
+    void rejects_out_of_range_page_size() {
+        assertThatThrownBy(() -> queryService.getStatement("ANY", null, null, null, BankAccountTransactionQueryService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String createAccount(UUID userId) {
+        String accountNumber = "STM-" + UUID.randomUUID().toString().substring(0, 8);
+        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+        return accountNumber;
+    }
+}
@@ -0,0 +1,50 @@
+package cqrs.bankaccount.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import cqrs.bankaccount.model.event.MoneyDepositedEvent;
+
+class BankAccountViewCacheTest {
+    private final BankAccountQueryService queryService = mock(BankAccountQueryService.class);
+    private final BankAccountViewCache cache = new BankAccountViewCache(queryService, 100, Duration.ofMinutes(1));
+    private final UUID aggregateId = UUID.randomUUID();
+
+    @Test
+    void read_older_than_the_last_commit_is_served_but_not_cached() {
+        given(queryService.getAccount("ACC-1")).willReturn(view(1), view(1), view(2));
+        cache.on(new MoneyDepositedEvent(UUID.randomUUID(), aggregateId, BigDecimal.TEN, LocalDateTime.now(), 2));
+
+        assertThat(cache.get("ACC-1").getVersion()).isEqualTo(1);
+        assertThat(cache.get("ACC-1").getVersion()).isEqualTo(1);
+        assertThat(cache.get("ACC-1").getVersion()).isEqualTo(2);
+        assertThat(cache.get("ACC-1").getVersion()).isEqualTo(2);
+
+        verify(queryService, times(3)).getAccount("ACC-1");
+    }
+
+    @Test
+    void commit_evicts_an_older_entry() {
+        given(queryService.getAccount("ACC-1")).willReturn(view(1), view(2));
+
+        assertThat(cache.get("ACC-1").getVersion()).isEqualTo(1);
+        cache.on(new MoneyDepositedEvent(UUID.randomUUID(), aggregateId, BigDecimal.TEN, LocalDateTime.now(), 2));
+
+        assertThat(cache.get("ACC-1").getVersion()).isEqualTo(2);
+        verify(queryService, times(2)).getAccount("ACC-1");
+    }
+
+    private BankAccountView view(int version) {
+        return new BankAccountView("ACC-1", aggregateId, "Holder", UUID.randomUUID(), BigDecimal.valueOf(version), version);
+    }
+}
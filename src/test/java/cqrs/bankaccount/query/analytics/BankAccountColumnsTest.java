@@ -0,0 +1,60 @@
+package cqrs.bankaccount.query.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BankAccountColumnsTest {
+
+    @Test
+    void aggregates_follow_incremental_updates() {
+        BankAccountColumns columns = new BankAccountColumns();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        columns.addAccount(a, "A", "Kim", BigDecimal.ZERO, 0);
+        columns.addAccount(b, "B", "Kim", BigDecimal.valueOf(50), 3);
+        columns.addAccount(c, "C", "Lee", BigDecimal.ZERO, 0);
+        columns.addAccount(a, "A", "Kim", BigDecimal.ZERO, 0);
+
+        columns.addToBalance(a, BigDecimal.valueOf(100), 1);
+        columns.addToBalance(c, new BigDecimal("20.25"), 1);
+        columns.applyTransfer(a, "A", BigDecimal.valueOf(30), 2);
+        columns.applyTransfer(c, "A", BigDecimal.valueOf(30), 2);
+
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.sumOfBalancesByHolder().get("Kim")).isEqualByComparingTo("120");
+        assertThat(columns.sumOfBalancesByHolder().get("Lee")).isEqualByComparingTo("50.25");
+        assertThat(columns.accountsOver(BigDecimal.valueOf(50))).extracting(AccountBalance::accountNumber).containsExactly("A", "C");
+        assertThat(columns.topByBalance(2)).extracting(AccountBalance::accountNumber).containsExactly("A", "C");
+        assertThat(columns.topByBalance(10)).extracting(AccountBalance::accountNumber).containsExactly("A", "C", "B");
+        assertThat(columns.addToBalance(UUID.randomUUID(), BigDecimal.ONE, 1)).isFalse();
+    }
+
+    @Test
+    void changes_included_in_a_seeded_balance_are_skipped() {
+        BankAccountColumns columns = new BankAccountColumns();
+        UUID a = UUID.randomUUID();
+        columns.addAccount(a, "A", "Kim", BigDecimal.valueOf(100), 2);
+
+        assertThat(columns.addToBalance(a, BigDecimal.valueOf(40), 2)).isTrue();
+        assertThat(columns.applyTransfer(a, "B", BigDecimal.valueOf(25), 1)).isTrue();
+        columns.addToBalance(a, BigDecimal.valueOf(10), 3);
+
+        assertThat(columns.topByBalance(1).get(0).balance()).isEqualByComparingTo("110");
+    }
+
+    @Test
+    void grows_past_initial_capacity() {
+        BankAccountColumns columns = new BankAccountColumns();
+        for (int i = 0; i < 3000; i++) {
+            columns.addAccount(UUID.randomUUID(), "N" + i, "H" + (i % 7), BigDecimal.valueOf(i), 0);
+        }
+
+        assertThat(columns.size()).isEqualTo(3000);
+        assertThat(columns.topByBalance(1).get(0).accountNumber()).isEqualTo("N2999");
+    }
+}
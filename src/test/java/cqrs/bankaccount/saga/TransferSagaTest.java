@@ -0,0 +1,119 @@
+package cqrs.bankaccount.saga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.command.BankAccountTransferCommand;
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.bankaccount.model.event.MoneyTransferEvent;
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest(properties = "app.transfer-saga.enabled=true")
+class TransferSagaTest {
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private BankAccountQueryService queryService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private TransferSagaRepository sagas;
+
+    @Autowired
+    private TransferSagaProcessor processor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void debit_commits_first_and_the_credit_follows() throws InterruptedException {
+        String from = createAccount();
+        String to = createAccount();
+        commandService.deposit(new BankAccountDepositCommand(from, BigDecimal.valueOf(100)));
+
+        BankAccount debited = commandService.transfer(new BankAccountTransferCommand(from, to, BigDecimal.valueOf(30)));
+
+        assertThat(debited.getBalance()).isEqualByComparingTo("70");
+        assertThat(awaitBalance(to, "30")).isTrue();
+        assertThat(queryService.getAccount(from).getBalance()).isEqualByComparingTo("70");
+        assertThat(sagas.findAll()).anyMatch(saga -> saga.getFromAggregateId().equals(debited.getAggregateId())
+                && saga.getToAccountNumber().equals(to) && saga.getStatus() == TransferSaga.Status.CREDITED);
+    }
+
+    @Test
+    void credit_that_cannot_succeed_is_compensated_by_a_refund() {
+        String from = createAccount();
+        UUID fromAggregateId = queryService.getAggregateIdByAccountNumber(from);
+        UUID transferId = UUID.randomUUID();
+        // A saga whose target has no stream, as if it had been removed after the debit.
+        sagas.save(new TransferSaga(transferId, fromAggregateId, from, UUID.randomUUID(), "GONE", BigDecimal.valueOf(25), null, LocalDateTime.now()));
+
+        processor.advance(transferId);
+
+        assertThat(sagas.findById(transferId).orElseThrow().getStatus()).isEqualTo(TransferSaga.Status.REFUNDED);
+        assertThat(queryService.getAccount(from).getBalance()).isEqualByComparingTo("25");
+        assertThat(commandService.refundTransfer(transferId, "again")).isFalse();
+    }
+
+    @Test
+    void credit_continues_the_correlation_of_the_transfer() throws InterruptedException {
+        String from = createAccount();
+        String to = createAccount();
+        commandService.deposit(new BankAccountDepositCommand(from, BigDecimal.valueOf(100)));
+
+        BankAccount debited = commandService.transfer(new BankAccountTransferCommand(from, to, BigDecimal.valueOf(40)));
+        assertThat(awaitBalance(to, "40")).isTrue();
+
+        UUID correlationId = sagas.findAll().stream()
+                .filter(saga -> saga.getToAccountNumber().equals(to))
+                .findFirst().orElseThrow().getCorrelationId();
+        List<UUID> transferCorrelations = jdbcTemplate.queryForList(
+                "select correlation_id from event_store where event_type = ? and aggregate_id in (?, ?)", UUID.class,
+                MoneyTransferEvent.class.getName(), debited.getAggregateId(), queryService.getAggregateIdByAccountNumber(to));
+
+        assertThat(correlationId).isNotNull();
+        assertThat(transferCorrelations).hasSize(2).containsOnly(correlationId);
+    }
+
+    @Test
+    void failure_reasons_fit_the_column() {
+        assertThat(TransferSagaProcessor.failureReason(new IllegalStateException())).isEqualTo("IllegalStateException");
+        assertThat(TransferSagaProcessor.failureReason(new IllegalStateException("x".repeat(1000)))).hasSize(255);
+        assertThat(TransferSagaProcessor.failureReason(new IllegalStateException("Account not found"))).isEqualTo("Account not found");
+    }
+
+    private boolean awaitBalance(String accountNumber, String expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (queryService.getAccount(accountNumber).getBalance().compareTo(new BigDecimal(expected)) == 0) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private String createAccount() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "SAGA-" + UUID.randomUUID().toString().substring(0, 8);
+        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+        return accountNumber;
+    }
+}
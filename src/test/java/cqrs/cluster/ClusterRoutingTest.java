@@ -0,0 +1,112 @@
+package cqrs.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import cqrs.LearningEventSourcingApplication;
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+/**
+ * Two nodes in one JVM, sharing one H2 database and talking to each other over loopback.
+ */
+class ClusterRoutingTest {
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static int portA;
+    private static int portB;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        portA = freePort();
+        portB = freePort();
+        nodeA = startNode("a", portA);
+        nodeB = startNode("b", portB);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void commands_run_on_the_owning_node_whichever_node_receives_them() throws Exception {
+        UUID userId = nodeA.getBean(UserCommandService.class).createUser(new UserCreatedCommand("John Doe")).getUserId();
+        ClusterMembership membership = nodeA.getBean(ClusterMembership.class);
+
+        for (int i = 0; i < 6; i++) {
+            String accountNumber = "CL-" + UUID.randomUUID().toString().substring(0, 8);
+            HttpResponse<String> created = post(portA, "/api/accounts", """
+                    {"accountNumber": "%s", "accountHolder": "John Doe", "userId": "%s"}
+                    """.formatted(accountNumber, userId));
+            assertThat(created.statusCode()).isEqualTo(201);
+            UUID aggregateId = nodeA.getBean(BankAccountQueryService.class).getAggregateIdByAccountNumber(accountNumber);
+            String owner = membership.owner(aggregateId).id();
+
+            for (int port : new int[]{portA, portB}) {
+                HttpResponse<String> deposit = post(port, "/api/accounts/" + accountNumber + "/deposits", "{\"amount\": 100}");
+                assertThat(deposit.statusCode()).isEqualTo(200);
+                assertThat(deposit.headers().firstValue(CommandRoutingFilter.NODE_HEADER)).contains(owner);
+            }
+            assertThat(nodeB.getBean(BankAccountQueryService.class).getAccount(accountNumber).getBalance()).isEqualByComparingTo("200");
+        }
+    }
+
+    @Test
+    void rejected_command_is_relayed_from_the_owner() throws Exception {
+        UUID userId = nodeA.getBean(UserCommandService.class).createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "CL-" + UUID.randomUUID().toString().substring(0, 8);
+        post(portA, "/api/accounts", """
+                {"accountNumber": "%s", "accountHolder": "John Doe", "userId": "%s"}
+                """.formatted(accountNumber, userId));
+
+        for (int port : new int[]{portA, portB}) {
+            HttpResponse<String> withdrawal = post(port, "/api/accounts/" + accountNumber + "/withdrawals", "{\"amount\": 100}");
+            assertThat(withdrawal.statusCode()).isEqualTo(400);
+            assertThat(withdrawal.body()).contains("Insufficient funds");
+        }
+    }
+
+    private static HttpResponse<String> post(int port, String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, int port) {
+        return new SpringApplicationBuilder(LearningEventSourcingApplication.class).run(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                "--app.cluster.enabled=true",
+                "--app.cluster.node-id=" + nodeId,
+                "--app.cluster.members[0].id=a",
+                "--app.cluster.members[0].url=http://localhost:" + portA,
+                "--app.cluster.members[1].id=b",
+                "--app.cluster.members[1].url=http://localhost:" + portB,
+                "--app.cluster.heartbeat-interval=PT1H");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package cqrs.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    @Test
+    void aggregates_spread_evenly_over_nodes() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of("a", "b", "c", "d"), 128);
+        Map<String, Integer> owned = new HashMap<>();
+
+        for (int i = 0; i < 40_000; i++) {
+            owned.merge(ring.owner(UUID.randomUUID()), 1, Integer::sum);
+        }
+
+        assertThat(owned).hasSize(4);
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(7_000, 13_000));
+    }
+
+    @Test
+    void removing_a_node_only_moves_its_own_aggregates() {
+        ConsistentHashRing before = ConsistentHashRing.of(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = ConsistentHashRing.of(List.of("a", "b"), 128);
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID aggregateId = UUID.randomUUID();
+            String owner = before.owner(aggregateId);
+            if (!owner.equals("c")) {
+                assertThat(after.owner(aggregateId)).isEqualTo(owner);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package cqrs.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest
+class StreamingExporterTest {
+
+    @Autowired
+    private StreamingExporter exporter;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void event_export_resumes_after_last_exported_id() throws IOException {
+        String accountNumber = createAccountWithDeposit();
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        long lastId = exporter.exportEvents(first, ExportFormat.NDJSON, false, 0);
+
+        String[] lines = first.toString(StandardCharsets.UTF_8).split("\n");
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertThat(last.get("id").asLong()).isEqualTo(lastId);
+        assertThat(last.get("event_data").isObject()).isTrue();
+
+        commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.valueOf(20)));
+        ByteArrayOutputStream resumed = new ByteArrayOutputStream();
+        long resumedId = exporter.exportEvents(resumed, ExportFormat.NDJSON, false, lastId);
+
+        String[] resumedLines = resumed.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(resumedLines).hasSize(1);
+        assertThat(objectMapper.readTree(resumedLines[0]).get("event_type").asText()).endsWith("MoneyDepositedEvent");
+        assertThat(resumedId).isGreaterThan(lastId);
+    }
+
+    @Test
+    void account_export_writes_gzipped_csv() throws IOException {
+        String accountNumber = createAccountWithDeposit();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportAccounts(out, ExportFormat.CSV, true);
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(csv).startsWith("account_number,aggregate_id,account_holder,user_id,balance\n");
+        assertThat(csv).contains(accountNumber + ",");
+        assertThat(csv).contains("\"Doe, John\"");
+    }
+
+    private String createAccountWithDeposit() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "EXP-" + UUID.randomUUID().toString().substring(0, 8);
+        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Doe, John", userId));
+        commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.valueOf(100)));
+        return accountNumber;
+    }
+}
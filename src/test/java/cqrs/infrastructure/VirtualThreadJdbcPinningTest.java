@@ -0,0 +1,61 @@
+package cqrs.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Runs more concurrent commands than there are pooled connections on virtual threads
+ * and checks with JFR that waiting for a connection or a JDBC call never pins a carrier thread.
+ */
+@SpringBootTest
+class VirtualThreadJdbcPinningTest {
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Test
+    void commands_on_virtual_threads_do_not_pin_carriers() throws Exception {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 100; i++) {
+                    executor.submit(() -> {
+                        String accountNumber = "VT-" + UUID.randomUUID().toString().substring(0, 8);
+                        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "John Doe", userId));
+                        commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.valueOf(100)));
+                    });
+                }
+            }
+            recording.stop();
+        }
+
+        assertThat(pinnedEvents).isEmpty();
+    }
+}
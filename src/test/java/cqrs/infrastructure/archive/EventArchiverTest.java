@@ -0,0 +1,106 @@
+package cqrs.infrastructure.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import cqrs.infrastructure.eventstore.EventEntity;
+import cqrs.infrastructure.eventstore.EventJpaRepository;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest
+class EventArchiverTest {
+
+    @Autowired
+    private EventArchiver archiver;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private EventJpaRepository eventJpaRepository;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Test
+    void archived_history_is_still_loaded_transparently() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "ARC-" + UUID.randomUUID().toString().substring(0, 8);
+        UUID aggregateId = commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId)).getAggregateId();
+        for (int i = 0; i < 3; i++) {
+            commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN));
+        }
+
+        assertThat(archiver.archive(aggregateId)).isEqualTo(2);
+        assertThat(eventJpaRepository.findByAggregateIdOrderByEventVersionAsc(aggregateId)).extracting(EventEntity::getEventVersion)
+                .containsExactly(2, 3);
+
+        List<Event> history = eventStore.load(aggregateId);
+        assertThat(history).extracting(Event::version).containsExactly(0, 1, 2, 3);
+        assertThat(BankAccount.loadFromHistory(aggregateId, history).getBalance()).isEqualByComparingTo("30");
+        assertThat(eventStore.load(aggregateId, 0)).extracting(Event::version).containsExactly(1, 2, 3);
+
+        BankAccount account = commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN));
+        assertThat(account.getBalance()).isEqualByComparingTo("40");
+        assertThat(account.getCurrentVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void load_many_reads_archived_and_hot_history_of_every_aggregate() {
+        List<UUID> archived = new ArrayList<>();
+        List<UUID> hot = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            UUID aggregateId = createAccountWithDeposits(3);
+            if (i % 2 == 0) {
+                archiver.archive(aggregateId);
+                archived.add(aggregateId);
+            } else {
+                hot.add(aggregateId);
+            }
+        }
+        Map<UUID, Integer> afterVersions = new LinkedHashMap<>();
+        archived.forEach(aggregateId -> afterVersions.put(aggregateId, -1));
+        hot.forEach(aggregateId -> afterVersions.put(aggregateId, 1));
+
+        Map<UUID, List<Event>> streams = eventStore.loadMany(afterVersions);
+
+        assertThat(streams).hasSize(6);
+        for (UUID aggregateId : archived) {
+            assertThat(streams.get(aggregateId)).extracting(Event::version).containsExactly(0, 1, 2, 3);
+            assertThat(BankAccount.loadFromHistory(aggregateId, streams.get(aggregateId)).getBalance()).isEqualByComparingTo("30");
+        }
+        for (UUID aggregateId : hot) {
+            assertThat(streams.get(aggregateId)).extracting(Event::version).containsExactly(2, 3);
+        }
+    }
+
+    private UUID createAccountWithDeposits(int deposits) {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "ARC-" + UUID.randomUUID().toString().substring(0, 8);
+        UUID aggregateId = commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId)).getAggregateId();
+        for (int i = 0; i < deposits; i++) {
+            commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN));
+        }
+        return aggregateId;
+    }
+}
@@ -0,0 +1,75 @@
+package cqrs.infrastructure.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.model.BankAccount;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest(properties = "app.compression.enabled=true")
+class PayloadCompressionBenchmarkTest {
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private PayloadDictionaryTrainer trainer;
+
+    @Autowired
+    private PayloadCompressionBenchmark benchmark;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void trained_dictionaries_shrink_payloads_and_stay_transparent() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String[] accounts = new String[120];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = "ZS-" + UUID.randomUUID().toString().substring(0, 8);
+            commandService.createAccount(new BankAccountCreatedCommand(accounts[i], "Holder " + i, userId));
+            for (int j = 0; j < 3; j++) {
+                commandService.deposit(new BankAccountDepositCommand(accounts[i], BigDecimal.valueOf(10 + i + j)));
+            }
+        }
+
+        trainer.train(PayloadKind.EVENT);
+        trainer.train(PayloadKind.SNAPSHOT);
+
+        for (PayloadKind kind : PayloadKind.values()) {
+            CompressionBenchmarkReport report = benchmark.run(kind, 400, 20);
+            assertThat(report.samples()).as(kind + " samples").isPositive();
+            assertThat(report.dictionaryBytes()).as(kind + " dictionary bytes").isLessThan(report.zstdBytes());
+            assertThat(report.ratio()).as(kind + " ratio").isGreaterThan(2);
+            // Loose floors: zstd runs at hundreds of MB/s, these only catch a broken measurement.
+            assertThat(report.compressMbPerSecond()).as(kind + " compress MB/s").isGreaterThan(1);
+            assertThat(report.decompressMbPerSecond()).as(kind + " decompress MB/s").isGreaterThan(1);
+        }
+
+        // New writes are compressed; loading (snapshot plus delta) decodes them transparently.
+        BankAccount account = null;
+        for (int i = 0; i < 3; i++) {
+            account = commandService.deposit(new BankAccountDepositCommand(accounts[0], BigDecimal.TEN));
+        }
+        assertThat(account.getCurrentVersion()).isEqualTo(6);
+        assertThat(account.getBalance()).isEqualByComparingTo("63");
+        Integer compressedRows = jdbcTemplate.queryForObject(
+                "select count(*) from event_store where aggregate_id = ? and dictionary_id is not null and event_data is null",
+                Integer.class, account.getAggregateId());
+        assertThat(compressedRows).isEqualTo(3);
+    }
+}
@@ -0,0 +1,78 @@
+package cqrs.infrastructure.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+/**
+ * Primary and replica are two unrelated H2 databases, so a read served by the replica does not see committed writes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.replica.username=sa",
+        "app.datasource.routing.replica.migration-locations=classpath:db/migration/h2"
+})
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private BankAccountQueryService queryService;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        monitor.update(Duration.ZERO);
+    }
+
+    @Test
+    void commands_read_the_primary_and_queries_read_the_replica() {
+        String accountNumber = createAccount();
+
+        // The deposit looks the account up inside its own read-write transaction, so it must have hit the primary.
+        commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.TEN));
+
+        assertThatThrownBy(() -> queryService.getAccount(accountNumber))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void lagging_replica_sends_queries_to_the_primary() {
+        String accountNumber = createAccount();
+
+        monitor.update(Duration.ofMinutes(1));
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(queryService.getAccount(accountNumber).getAccountNumber()).isEqualTo(accountNumber);
+    }
+
+    private String createAccount() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "RW-" + UUID.randomUUID().toString().substring(0, 8);
+        commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+        return accountNumber;
+    }
+}
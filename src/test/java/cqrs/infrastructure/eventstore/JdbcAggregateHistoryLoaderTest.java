@@ -0,0 +1,65 @@
+package cqrs.infrastructure.eventstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.model.BankAccountSnapshot;
+import cqrs.common.AggregateHistory;
+import cqrs.common.Event;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+import cqrs.user.model.UserSnapshot;
+
+@SpringBootTest
+class JdbcAggregateHistoryLoaderTest {
+
+    @Autowired
+    private JdbcAggregateHistoryLoader<BankAccountSnapshot> accountLoader;
+
+    @Autowired
+    private JdbcAggregateHistoryLoader<UserSnapshot> userLoader;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Test
+    void returns_the_latest_snapshot_and_only_the_events_after_it() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        String accountNumber = "HIST-" + UUID.randomUUID().toString().substring(0, 8);
+        UUID aggregateId = commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId)).getAggregateId();
+        for (int i = 0; i < 4; i++) {
+            commandService.deposit(new BankAccountDepositCommand(accountNumber, BigDecimal.valueOf(100)));
+        }
+
+        AggregateHistory<BankAccountSnapshot> history = accountLoader.load(aggregateId, BankAccountSnapshot.class);
+
+        assertThat(history.snapshot()).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.getVersion()).isEqualTo(2);
+            assertThat(snapshot.getBalance()).isEqualByComparingTo("200");
+        });
+        assertThat(history.events()).extracting(Event::version).containsExactly(3, 4);
+    }
+
+    @Test
+    void without_a_snapshot_returns_the_whole_stream() {
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+
+        AggregateHistory<UserSnapshot> history = userLoader.load(userId, UserSnapshot.class);
+
+        assertThat(history.snapshot()).isEmpty();
+        assertThat(history.events()).extracting(Event::version).containsExactly(0);
+        assertThat(userLoader.load(UUID.randomUUID(), UserSnapshot.class).isEmpty()).isTrue();
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -41,4 +42,22 @@ class JpaEventStoreTest {
         assertThat(events.get(0)).isInstanceOf(AccountCreatedEvent.class);
         assertThat(events.get(1)).isInstanceOf(MoneyDepositedEvent.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLoadMany() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID empty = UUID.randomUUID();
+        jpaEventStore.save(first, new AccountCreatedEvent(UUID.randomUUID(), first, "1111111111", "John Doe", UUID.randomUUID(), LocalDateTime.now(), 0));
+        jpaEventStore.save(first, new MoneyDepositedEvent(UUID.randomUUID(), first, BigDecimal.valueOf(100), LocalDateTime.now(), 1));
+        jpaEventStore.save(second, new AccountCreatedEvent(UUID.randomUUID(), second, "2222222222", "Jane Doe", UUID.randomUUID(), LocalDateTime.now(), 0));
+        jpaEventStore.save(second, new MoneyDepositedEvent(UUID.randomUUID(), second, BigDecimal.valueOf(50), LocalDateTime.now(), 1));
+        jpaEventStore.save(second, new MoneyDepositedEvent(UUID.randomUUID(), second, BigDecimal.valueOf(25), LocalDateTime.now(), 2));
+
+        Map<UUID, List<Event>> streams = jpaEventStore.loadMany(Map.of(first, -1, second, 0, empty, -1));
+
+        assertThat(streams.get(first)).extracting(Event::version).containsExactly(0, 1);
+        assertThat(streams.get(second)).extracting(Event::version).containsExactly(1, 2);
+        assertThat(streams.get(empty)).isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package cqrs.infrastructure.eventstore.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PartitionedEventStoreDdlTest {
+
+    @Test
+    void hash_partitioning_keeps_unique_version_constraint() {
+        List<String> ddl = PartitionedEventStoreDdl.createTable(new EventStorePartitioningProperties(true, 4, false, 0), YearMonth.of(2026, 1));
+
+        assertThat(ddl.get(0)).contains("partition by hash (aggregate_id)").contains("unique (aggregate_id, event_version)");
+        assertThat(ddl).filteredOn(s -> s.contains("for values with (modulus 4")).hasSize(4);
+        assertThat(ddl).noneMatch(s -> s.contains("trigger"));
+    }
+
+    @Test
+    void monthly_partitioning_sub_partitions_by_hash_and_guards_versions() {
+        List<String> ddl = PartitionedEventStoreDdl.createTable(new EventStorePartitioningProperties(true, 2, true, 1), YearMonth.of(2026, 12));
+
+        assertThat(ddl.get(0)).contains("partition by range (created_at)").doesNotContain("unique");
+        assertThat(ddl).contains(
+                "create table if not exists event_store_2026_12 partition of event_store for values from ('2026-12-01') to ('2027-01-01') partition by hash (aggregate_id)",
+                "create table if not exists event_store_2027_01_h1 partition of event_store_2027_01 for values with (modulus 2, remainder 1)");
+        assertThat(ddl).anyMatch(s -> s.contains("pg_advisory_xact_lock")).anyMatch(s -> s.startsWith("create trigger"));
+    }
+
+    @Test
+    void unguarded_table_leaves_the_version_guard_for_after_the_copy() {
+        EventStorePartitioningProperties monthly = new EventStorePartitioningProperties(true, 0, true, 0);
+
+        assertThat(PartitionedEventStoreDdl.createUnguardedTable(monthly, YearMonth.of(2026, 1))).noneMatch(s -> s.contains("trigger"));
+        assertThat(PartitionedEventStoreDdl.versionGuard(monthly)).anyMatch(s -> s.startsWith("create trigger"));
+        assertThat(PartitionedEventStoreDdl.versionGuard(new EventStorePartitioningProperties(true, 4, false, 0))).isEmpty();
+    }
+
+    @Test
+    void rejects_configuration_without_partitions() {
+        assertThatThrownBy(() -> new EventStorePartitioningProperties(true, 0, false, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package cqrs.infrastructure.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.bankaccount.model.BankAccountSnapshot;
+
+@SpringBootTest
+class JpaIdempotencyStoreTest {
+
+    @Autowired
+    private JpaIdempotencyStore store;
+
+    @Autowired
+    private ProcessedCommandJpaRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void key_processed_elsewhere_is_answered_from_the_table() {
+        String key = "key-" + UUID.randomUUID();
+        BankAccountSnapshot result = new BankAccountSnapshot(UUID.randomUUID(), "IDEM-1", "Holder", BigDecimal.TEN, 1, UUID.randomUUID());
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(store.claim("deposit", key, BankAccountSnapshot.class)).isEmpty();
+            store.record("deposit", key, result.getAggregateId(), result.getVersion(), result);
+        });
+
+        // A node that has not seen the key, such as another member or this one after a restart.
+        JpaIdempotencyStore otherNode = new JpaIdempotencyStore(repository, objectMapper, dataSource, 1000, 0.01);
+        Optional<BankAccountSnapshot> replayed = transactionTemplate.execute(
+                status -> otherNode.claim("deposit", key, BankAccountSnapshot.class));
+
+        assertThat(replayed).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.getAggregateId()).isEqualTo(result.getAggregateId());
+            assertThat(snapshot.getBalance()).isEqualByComparingTo("10");
+        });
+    }
+
+    @Test
+    void same_key_for_another_command_is_a_new_claim() {
+        String key = "key-" + UUID.randomUUID();
+        BankAccountSnapshot result = new BankAccountSnapshot(UUID.randomUUID(), "IDEM-2", "Holder", BigDecimal.TEN, 1, UUID.randomUUID());
+        transactionTemplate.executeWithoutResult(status -> {
+            store.claim("deposit", key, BankAccountSnapshot.class);
+            store.record("deposit", key, result.getAggregateId(), result.getVersion(), result);
+        });
+
+        Optional<BankAccountSnapshot> withdrawal = transactionTemplate.execute(
+                status -> store.claim("withdraw", key, BankAccountSnapshot.class));
+
+        assertThat(withdrawal).isEmpty();
+    }
+}
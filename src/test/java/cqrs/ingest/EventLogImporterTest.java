@@ -0,0 +1,170 @@
+package cqrs.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.model.event.AccountCreatedEvent;
+import cqrs.bankaccount.model.event.MoneyDepositedEvent;
+import cqrs.bankaccount.query.BankAccountQueryService;
+import cqrs.common.Event;
+import cqrs.common.EventStore;
+import cqrs.common.snapshot.IsSnapshotData;
+import cqrs.common.snapshot.SnapshotFactory;
+import cqrs.common.snapshot.SnapshotStore;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+import cqrs.user.model.event.UserCreatedEvent;
+import cqrs.user.query.UserQueryService;
+
+@SpringBootTest
+class EventLogImporterTest {
+
+    @Autowired
+    private EventLogImporter importer;
+
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private BankAccountQueryService bankAccountQueryService;
+
+    @Autowired
+    private UserQueryService userQueryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BankAccountCommandService commandService;
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SnapshotStore<IsSnapshotData> snapshotStore;
+
+    @Autowired
+    private List<SnapshotFactory> snapshotFactories;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void imports_events_and_rebuilds_read_models() throws Exception {
+        LocalDateTime t = LocalDateTime.now().minusDays(1);
+        UUID userId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+        String accountNumber = "IMP-" + accountId.toString().substring(0, 8);
+        List<Event> events = new ArrayList<>();
+        events.add(new UserCreatedEvent(UUID.randomUUID(), userId, "Imported", t, 0));
+        events.add(new AccountCreatedEvent(UUID.randomUUID(), accountId, accountNumber, "Imported", userId, t.plusSeconds(1), 0));
+        for (int v = 1; v <= 5; v++) {
+            events.add(new MoneyDepositedEvent(UUID.randomUUID(), accountId, BigDecimal.valueOf(10), t.plusSeconds(1 + v), v));
+        }
+
+        ImportReport report = importer.importEvents(ndjson(events), true);
+
+        assertThat(report.events()).isEqualTo(7);
+        assertThat(report.aggregates()).isEqualTo(2);
+        assertThat(report.snapshots()).isEqualTo(1);
+        assertThat(report.replayedEvents()).isEqualTo(7);
+        assertThat(eventStore.load(accountId)).hasSize(6);
+        assertThat(bankAccountQueryService.getAccount(accountNumber).getBalance()).isEqualByComparingTo("50");
+        assertThat(userQueryService.getAccountsSummary(userId).getAccountCount()).isEqualTo(1);
+    }
+
+    @Test
+    void imported_account_numbers_are_reserved_without_read_models() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        String accountNumber = "IMR-" + accountId.toString().substring(0, 8);
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("Imported")).getUserId();
+
+        importer.importEvents(ndjson(List.of(
+                new AccountCreatedEvent(UUID.randomUUID(), accountId, accountNumber, "Imported", userId, LocalDateTime.now(), 0))), false);
+
+        assertThatThrownBy(() -> commandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Other", userId)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Account number already exists");
+    }
+
+    @Test
+    void rejects_version_gap() throws Exception {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime t = LocalDateTime.now();
+        List<Event> events = List.of(
+                new UserCreatedEvent(UUID.randomUUID(), userId, "Gap", t, 0),
+                new UserCreatedEvent(UUID.randomUUID(), userId, "Gap", t, 2));
+
+        assertThatThrownBy(() -> importer.importEvents(ndjson(events), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Version gap");
+    }
+
+    @Test
+    void failed_import_removes_what_it_committed() throws Exception {
+        // One writer committing every row, so the account is in the store before the gap is reached.
+        EventLogImporter rowByRow = new EventLogImporter(dataSource, transactionManager, objectMapper, eventStore,
+                snapshotStore, snapshotFactories, eventPublisher, 1, 1, false);
+        UUID userId = userCommandService.createUser(new UserCreatedCommand("Imported")).getUserId();
+        UUID accountId = UUID.randomUUID();
+        String accountNumber = "IMF-" + accountId.toString().substring(0, 8);
+        UUID gapId = UUID.randomUUID();
+        LocalDateTime t = LocalDateTime.now();
+        List<Event> valid = List.of(
+                new AccountCreatedEvent(UUID.randomUUID(), accountId, accountNumber, "Imported", userId, t, 0),
+                new MoneyDepositedEvent(UUID.randomUUID(), accountId, BigDecimal.TEN, t.plusSeconds(1), 1));
+        List<Event> events = new ArrayList<>(valid);
+        events.add(new UserCreatedEvent(UUID.randomUUID(), gapId, "Gap", t, 0));
+        events.add(new UserCreatedEvent(UUID.randomUUID(), gapId, "Gap", t, 2));
+
+        assertThatThrownBy(() -> rowByRow.importEvents(ndjson(events), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Version gap");
+
+        assertThat(eventStore.load(accountId)).isEmpty();
+        assertThat(eventStore.load(gapId)).isEmpty();
+        assertThat(rowByRow.importEvents(ndjson(valid), false).events()).isEqualTo(2);
+        assertThat(eventStore.load(accountId)).hasSize(2);
+    }
+
+    private ByteArrayInputStream ndjson(List<Event> events) throws Exception {
+        StringBuilder lines = new StringBuilder();
+        for (Event event : events) {
+            lines.append(objectMapper.writeValueAsString(Map.of(
+                    "aggregate_id", event.aggregateId().toString(),
+                    "event_id", event.eventId().toString(),
+                    "event_type", event.getClass().getName(),
+                    "event_version", event.version(),
+                    "created_at", event.timestamp().toString(),
+                    "event_data", objectMapper.valueToTree(event)))).append('\n');
+        }
+        return new ByteArrayInputStream(lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
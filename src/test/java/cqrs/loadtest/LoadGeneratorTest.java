@@ -0,0 +1,31 @@
+package cqrs.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+        "loadtest.enabled=true",
+        "loadtest.accounts=20",
+        "loadtest.threads=8",
+        "loadtest.operations=300"
+})
+class LoadGeneratorTest {
+
+    @Autowired
+    private LoadGenerator loadGenerator;
+
+    @Test
+    void run_reports_every_operation() {
+        LoadTestReport report = loadGenerator.run();
+
+        assertThat(report.operations()).isEqualTo(300);
+        assertThat(report.succeeded() + report.rejected() + report.failed()).isEqualTo(300);
+        assertThat(report.retries()).isLessThanOrEqualTo(report.conflicts());
+        assertThat(report.succeeded()).isPositive();
+        assertThat(report.snapshotHits() + report.snapshotMisses()).isPositive();
+        assertThat(report.throughputPerSecond()).isPositive();
+    }
+}
@@ -0,0 +1,79 @@
+package cqrs.user.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import cqrs.common.Event;
+import cqrs.user.model.event.UserCreatedEvent;
+import cqrs.user.model.event.UserRenamedEvent;
+
+class UserTest {
+
+    @Test
+    void create_user_success() {
+        // When
+        User user = new User("John Doe");
+
+        // Then
+        assertThat(user.getName()).isEqualTo("John Doe");
+        assertThat(user.getCurrentVersion()).isZero();
+        assertThat(user.getUncommittedEvents()).singleElement().isInstanceOf(UserCreatedEvent.class);
+    }
+
+    @Test
+    void create_user_fail_blank_name() {
+        // When & Then
+        assertThatThrownBy(() -> new User(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rename_records_event() {
+        // Given
+        User user = new User("John Doe");
+        user.clearUncommittedEvents();
+
+        // When
+        user.rename("Jane Doe");
+
+        // Then
+        assertThat(user.getName()).isEqualTo("Jane Doe");
+        assertThat(user.getCurrentVersion()).isEqualTo(1);
+        assertThat(user.getUncommittedEvents()).singleElement().isInstanceOf(UserRenamedEvent.class);
+    }
+
+    @Test
+    void rename_to_same_name_records_nothing() {
+        // Given
+        User user = new User("John Doe");
+        user.clearUncommittedEvents();
+
+        // When
+        user.rename("John Doe");
+
+        // Then
+        assertThat(user.getUncommittedEvents()).isEmpty();
+    }
+
+    @Test
+    void load_from_history_and_snapshot_restore_same_state() {
+        // Given
+        User user = new User("John Doe");
+        user.rename("Jane Doe");
+        List<Event> history = user.getUncommittedEvents();
+
+        // When
+        User fromHistory = User.loadFromHistory(user.getUserId(), history);
+        User fromSnapshot = user.createSnapshot().toUser();
+
+        // Then
+        assertThat(fromHistory.getName()).isEqualTo("Jane Doe");
+        assertThat(fromHistory.getCurrentVersion()).isEqualTo(1);
+        assertThat(fromSnapshot.getName()).isEqualTo("Jane Doe");
+        assertThat(fromSnapshot.getCurrentVersion()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,61 @@
+package cqrs.user.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import cqrs.bankaccount.command.BankAccountCommandService;
+import cqrs.bankaccount.command.BankAccountCreatedCommand;
+import cqrs.bankaccount.command.BankAccountDepositCommand;
+import cqrs.bankaccount.command.BankAccountTransferCommand;
+import cqrs.bankaccount.command.BankAccountWithdrawCommand;
+import cqrs.user.command.UserCommandService;
+import cqrs.user.command.UserCreatedCommand;
+
+@SpringBootTest
+class UserAccountsSummaryProjectionTest {
+
+    @Autowired
+    private UserCommandService userCommandService;
+
+    @Autowired
+    private BankAccountCommandService bankAccountCommandService;
+
+    @Autowired
+    private UserQueryService userQueryService;
+
+    @Test
+    void summary_follows_account_and_money_events() {
+        UUID owner = userCommandService.createUser(new UserCreatedCommand("John Doe")).getUserId();
+        UUID other = userCommandService.createUser(new UserCreatedCommand("Jane Doe")).getUserId();
+        String first = createAccount(owner);
+        String second = createAccount(owner);
+        String foreign = createAccount(other);
+
+        bankAccountCommandService.deposit(new BankAccountDepositCommand(first, BigDecimal.valueOf(100)));
+        bankAccountCommandService.deposit(new BankAccountDepositCommand(second, BigDecimal.valueOf(50)));
+        bankAccountCommandService.withdraw(new BankAccountWithdrawCommand(second, BigDecimal.valueOf(20)));
+        bankAccountCommandService.transfer(new BankAccountTransferCommand(first, second, BigDecimal.valueOf(30)));
+        bankAccountCommandService.transfer(new BankAccountTransferCommand(first, foreign, BigDecimal.valueOf(40)));
+
+        UserAccountsSummary ownerSummary = userQueryService.getAccountsSummary(owner);
+        assertThat(ownerSummary.getAccountCount()).isEqualTo(2);
+        assertThat(ownerSummary.getTotalBalance()).isEqualByComparingTo("90");
+        assertThat(ownerSummary.getLastActivityAt()).isNotNull();
+
+        UserAccountsSummary otherSummary = userQueryService.getAccountsSummary(other);
+        assertThat(otherSummary.getAccountCount()).isEqualTo(1);
+        assertThat(otherSummary.getTotalBalance()).isEqualByComparingTo("40");
+    }
+
+    private String createAccount(UUID userId) {
+        String accountNumber = "SUM-" + UUID.randomUUID().toString().substring(0, 8);
+        bankAccountCommandService.createAccount(new BankAccountCreatedCommand(accountNumber, "Holder", userId));
+        return accountNumber;
+    }
+}